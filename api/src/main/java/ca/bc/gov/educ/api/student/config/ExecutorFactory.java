@@ -0,0 +1,222 @@
+package ca.bc.gov.educ.api.student.config;
+
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jboss.threads.EnhancedQueueExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the bounded thread pools used for NATS message handling and async queries, the pool size caps the concurrency.
+ * The threads of the JDBC executors of the nats event handling are counted against the hikari pool size, a warning is logged when they can
+ * ask for more connections than the pool holds as they would then wait on the pool instead of in their own queue. The JDBC executors of
+ * the REST requests are not counted, their concurrency follows the web requests and they wait on the pool like the request threads do.
+ * The tasks of the JDBC executors whose tasks do not wait on other executors, the nats partition and pen batch queries and the REST
+ * pagination queries, also take one of the JDBC permits before they run. There are as many permits as connections in the hikari pool, so
+ * these queries wait for a connection in order behind the permits instead of timing out on the pool. The nats event workers wait on the
+ * partition and pen batch executors, they take no permit so they can not hold every permit while waiting on a task which needs one.
+ * The queue depth and active threads of every pool are exported as gauges tagged with the pool name.
+ * The pools are shut down with the application context, after the beans using them, the queued tasks get what is left of the shutdown
+ * deadline to finish and are interrupted after it.
+ */
+@Component
+@Slf4j
+public class ExecutorFactory {
+  private final MeterRegistry meterRegistry;
+  private final int hikariMaximumPoolSize;
+  private final AtomicInteger jdbcThreads = new AtomicInteger();
+  private final Semaphore jdbcPermits;
+  private final ShutdownDeadline shutdownDeadline;
+  private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+
+  /**
+   * Instantiates a new Executor factory.
+   *
+   * @param applicationProperties the application properties
+   * @param meterRegistry         the meter registry
+   * @param shutdownDeadline      the shutdown deadline
+   */
+  @Autowired
+  public ExecutorFactory(final ApplicationProperties applicationProperties, final MeterRegistry meterRegistry, final ShutdownDeadline shutdownDeadline) {
+    this.meterRegistry = meterRegistry;
+    this.shutdownDeadline = shutdownDeadline;
+    this.hikariMaximumPoolSize = applicationProperties.getHikariMaximumPoolSize();
+    this.jdbcPermits = new Semaphore(this.hikariMaximumPoolSize, true);
+    Gauge.builder("student.executor.jdbc.permits.waiting", this.jdbcPermits, Semaphore::getQueueLength)
+        .description("tasks waiting for a JDBC permit").register(meterRegistry);
+  }
+
+  /**
+   * Executor for tasks which do not hold a DB connection.
+   *
+   * @param nameFormat   the thread name format
+   * @param corePoolSize the core pool size
+   * @param maxPoolSize  the max pool size
+   * @return the executor
+   */
+  public ExecutorService newExecutor(final String nameFormat, final int corePoolSize, final int maxPoolSize) {
+    return this.newPooledExecutor(nameFormat, corePoolSize, maxPoolSize, null);
+  }
+
+  /**
+   * Executor for the JDBC queries of the REST requests, its threads are not counted against the hikari pool size, its tasks take a JDBC permit.
+   *
+   * @param nameFormat   the thread name format
+   * @param corePoolSize the core pool size
+   * @param maxPoolSize  the max pool size
+   * @return the executor
+   */
+  public ExecutorService newRequestJdbcExecutor(final String nameFormat, final int corePoolSize, final int maxPoolSize) {
+    return this.newPooledExecutor(nameFormat, corePoolSize, maxPoolSize, this.jdbcPermits);
+  }
+
+  /**
+   * Executor for tasks of the nats event handling which run JDBC queries, its tasks take a JDBC permit so they must not wait on other
+   * JDBC executors.
+   *
+   * @param nameFormat   the thread name format
+   * @param corePoolSize the core pool size
+   * @param maxPoolSize  the max pool size
+   * @return the executor
+   */
+  public ExecutorService newJdbcExecutor(final String nameFormat, final int corePoolSize, final int maxPoolSize) {
+    this.addJdbcThreads(nameFormat, maxPoolSize);
+    return this.newPooledExecutor(nameFormat, corePoolSize, maxPoolSize, this.jdbcPermits);
+  }
+
+  /**
+   * Executor for tasks which run JDBC queries, the queued tasks are started in their natural order instead of first in first out.
+   * Only {@link Comparable} tasks can be queued, they must be passed to {@link ExecutorService#execute(Runnable)} as submit wraps them.
+   * Its tasks take no JDBC permit, they may wait on the other JDBC executors.
+   *
+   * @param nameFormat the thread name format
+   * @param poolSize   the pool size
+   * @return the executor
+   */
+  public ExecutorService newPriorityJdbcExecutor(final String nameFormat, final int poolSize) {
+    this.addJdbcThreads(nameFormat, poolSize);
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat(nameFormat).build());
+    final String name = nameFormat.replace("-%d", "");
+    Gauge.builder("student.executor.queue.depth", executor, e -> e.getQueue().size()).tag("name", name)
+        .description("tasks queued and not yet started").register(this.meterRegistry);
+    Gauge.builder("student.executor.active.threads", executor, ThreadPoolExecutor::getActiveCount).tag("name", name)
+        .description("threads running a task").register(this.meterRegistry);
+    this.executors.put(name, executor);
+    return executor;
+  }
+
+  /**
+   * Shut down the pools, waiting up to the shutdown deadline for the running and queued tasks.
+   */
+  @PreDestroy
+  public void shutdown() {
+    this.executors.values().forEach(ExecutorService::shutdown);
+    this.executors.forEach((name, executor) -> {
+      try {
+        if (!executor.awaitTermination(this.shutdownDeadline.remaining().toMillis(), TimeUnit.MILLISECONDS)) {
+          log.warn("executor {} did not finish by the shutdown deadline, dropping {} queued tasks and interrupting the running ones", name, executor.shutdownNow().size());
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        executor.shutdownNow();
+      }
+    });
+  }
+
+  private void addJdbcThreads(final String nameFormat, final int threads) {
+    final int total = this.jdbcThreads.addAndGet(threads);
+    if (total > this.hikariMaximumPoolSize) {
+      log.warn("the JDBC executors up to {} can run {} queries at once, more than the {} connections of the hikari pool.",
+          nameFormat.replace("-%d", ""), total, this.hikariMaximumPoolSize);
+    }
+  }
+
+  private ExecutorService newPooledExecutor(final String nameFormat, final int corePoolSize, final int maxPoolSize, final Semaphore permits) {
+    final EnhancedQueueExecutor executor = new EnhancedQueueExecutor.Builder()
+        .setThreadFactory(new ThreadFactoryBuilder().setNameFormat(nameFormat).build())
+        .setCorePoolSize(corePoolSize).setMaximumPoolSize(maxPoolSize).setKeepAliveTime(Duration.ofSeconds(60)).build();
+    final MeteredExecutor meteredExecutor = new MeteredExecutor(executor, permits);
+    final String name = nameFormat.replace("-%d", "");
+    Gauge.builder("student.executor.queue.depth", executor, EnhancedQueueExecutor::getQueueSize).tag("name", name)
+        .description("tasks queued and not yet started").register(this.meterRegistry);
+    Gauge.builder("student.executor.active.threads", meteredExecutor.activeCount, AtomicInteger::get).tag("name", name)
+        .description("threads running a task").register(this.meterRegistry);
+    this.executors.put(name, meteredExecutor);
+    return meteredExecutor;
+  }
+
+  /**
+   * Counts the running tasks, the active count of the enhanced queue executor is only tracked when its statistics are switched on
+   * by a system property. Takes a permit around every task when permits are given.
+   */
+  private static final class MeteredExecutor extends AbstractExecutorService {
+    private final EnhancedQueueExecutor delegate;
+    private final Semaphore permits;
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private MeteredExecutor(final EnhancedQueueExecutor delegate, final Semaphore permits) {
+      this.delegate = delegate;
+      this.permits = permits;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+      this.delegate.execute(() -> {
+        if (this.permits != null) {
+          this.permits.acquireUninterruptibly();
+        }
+        this.activeCount.incrementAndGet();
+        try {
+          command.run();
+        } finally {
+          this.activeCount.decrementAndGet();
+          if (this.permits != null) {
+            this.permits.release();
+          }
+        }
+      });
+    }
+
+    @Override
+    public void shutdown() {
+      this.delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return this.delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return this.delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return this.delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+      return this.delegate.awaitTermination(timeout, unit);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package ca.bc.gov.educ.api.student.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The type Jackson config.
+ * Spring Boot registers module beans with the object mapper it builds for the REST endpoints, so the REST responses get the same
+ * Blackbird acceleration as the NATS payloads written through {@link ca.bc.gov.educ.api.student.util.JsonUtil}.
+ */
+@Configuration
+public class JacksonConfig {
+
+  /**
+   * Blackbird module.
+   *
+   * @return the module
+   */
+  @Bean
+  public Module blackbirdModule() {
+    return new BlackbirdModule();
+  }
+}
@@ -0,0 +1,24 @@
+package ca.bc.gov.educ.api.student.config;
+
+import ca.bc.gov.educ.api.student.helpers.LogHelper;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The type Logging config.
+ * Hands the payload cap to {@link LogHelper}, the appenders themselves are set up in logback-spring.xml.
+ */
+@Configuration
+public class LoggingConfig {
+
+  /**
+   * Instantiates a new Logging config.
+   *
+   * @param applicationProperties the application properties
+   */
+  @Autowired
+  public LoggingConfig(final ApplicationProperties applicationProperties) {
+    LogHelper.setPayloadMaxLength(applicationProperties.getLogPayloadMaxLength());
+  }
+}
@@ -0,0 +1,62 @@
+package ca.bc.gov.educ.api.student.config;
+
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The one deadline of the shutdown, shared by the beans which wait for in flight work when the application stops.
+ * It starts when the context starts closing, before the graceful shutdown of the web server, so the web requests, the nats drains and
+ * the executors all finish within one budget instead of each waiting its own timeout one after the other.
+ */
+@Component
+public class ShutdownDeadline implements ApplicationListener<ContextClosedEvent> {
+  private final Duration budget;
+  private final AtomicReference<Long> deadlineNanos = new AtomicReference<>();
+
+  /**
+   * Instantiates a new Shutdown deadline.
+   *
+   * @param applicationProperties the application properties
+   */
+  @Autowired
+  public ShutdownDeadline(final ApplicationProperties applicationProperties) {
+    this.budget = Duration.ofSeconds(applicationProperties.getShutdownTimeoutSeconds());
+  }
+
+  @Override
+  public void onApplicationEvent(final ContextClosedEvent event) {
+    this.start();
+  }
+
+  /**
+   * Start the deadline, the first call wins.
+   */
+  public void start() {
+    this.deadlineNanos.compareAndSet(null, System.nanoTime() + this.budget.toNanos());
+  }
+
+  /**
+   * Gets the time left until the deadline, starting the deadline if the shutdown did not start it yet.
+   *
+   * @return the remaining time, zero once the deadline passed
+   */
+  public Duration remaining() {
+    this.start();
+    return Duration.ofNanos(Math.max(0, this.deadlineNanos.get() - System.nanoTime()));
+  }
+
+  /**
+   * Whether the deadline passed.
+   *
+   * @return true once the deadline passed
+   */
+  public boolean isPassed() {
+    return this.remaining().isZero();
+  }
+}
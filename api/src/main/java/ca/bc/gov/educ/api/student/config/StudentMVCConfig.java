@@ -1,12 +1,18 @@
 package ca.bc.gov.educ.api.student.config;
 
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * The type Student mvc config.
  */
@@ -16,18 +22,37 @@ public class StudentMVCConfig implements WebMvcConfigurer {
   @Getter(AccessLevel.PRIVATE)
   private final RequestResponseInterceptor requestResponseInterceptor;
 
+  @Getter(AccessLevel.PRIVATE)
+  private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
   /**
    * Instantiates a new Student mvc config.
    *
    * @param requestResponseInterceptor the student request interceptor
+   * @param objectMapperBuilder        the object mapper builder with the spring.jackson settings and modules
    */
   @Autowired
-  public StudentMVCConfig(final RequestResponseInterceptor requestResponseInterceptor) {
+  public StudentMVCConfig(final RequestResponseInterceptor requestResponseInterceptor, final Jackson2ObjectMapperBuilder objectMapperBuilder) {
     this.requestResponseInterceptor = requestResponseInterceptor;
+    this.objectMapperBuilder = objectMapperBuilder;
   }
 
   @Override
   public void addInterceptors(InterceptorRegistry registry) {
     registry.addInterceptor(requestResponseInterceptor).addPathPatterns("/**");
   }
+
+  /**
+   * Bulk consumers can ask for the binary jackson smile format with {@code Accept: application/x-jackson-smile}, the same structures
+   * are written, just smaller and faster to parse. The converter is added after the json one, so json stays the default.
+   * Spring MVC registers a default smile converter when jackson smile is on the classpath, it is replaced so the smile mapper gets the
+   * spring.jackson settings and modules.
+   *
+   * @param converters the converters
+   */
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+    converters.add(new MappingJackson2SmileHttpMessageConverter(getObjectMapperBuilder().factory(new SmileFactory()).build()));
+  }
 }
@@ -28,6 +28,10 @@ public enum EventOutcome {
    * Student updated event outcome.
    */
   STUDENT_UPDATED,
+  /**
+   * Student deleted event outcome.
+   */
+  STUDENT_DELETED,
   /**
    * Student already exist event outcome.
    */
@@ -47,5 +51,9 @@ public enum EventOutcome {
   /**
    * Student history already exist event outcome.
    */
-  STUDENT_HISTORY_ALREADY_EXIST
+  STUDENT_HISTORY_ALREADY_EXIST,
+  /**
+   * The event was not processed as the service is over capacity, the saga should retry the step later.
+   */
+  SERVICE_BUSY
 }
@@ -0,0 +1,53 @@
+package ca.bc.gov.educ.api.student.constant;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static ca.bc.gov.educ.api.student.constant.EventType.CREATE_STUDENT;
+import static ca.bc.gov.educ.api.student.constant.EventType.CREATE_STUDENT_HISTORY;
+import static ca.bc.gov.educ.api.student.constant.EventType.GET_PAGINATED_STUDENT_BY_CRITERIA;
+import static ca.bc.gov.educ.api.student.constant.EventType.GET_STUDENT;
+import static ca.bc.gov.educ.api.student.constant.EventType.GET_STUDENTS;
+import static ca.bc.gov.educ.api.student.constant.EventType.GET_STUDENT_HISTORY;
+import static ca.bc.gov.educ.api.student.constant.EventType.UPDATE_STUDENT;
+
+/**
+ * The priority class of an event type, it decides the concurrency and queue size of the event type's bulkhead, and which queued
+ * events get a free event worker first. The constants are declared from the highest priority down.
+ */
+public enum EventPriority {
+  /**
+   * Saga write steps.
+   */
+  HIGH(EnumSet.of(CREATE_STUDENT, UPDATE_STUDENT, CREATE_STUDENT_HISTORY)),
+  /**
+   * Single record lookups.
+   */
+  NORMAL(EnumSet.of(GET_STUDENT, GET_STUDENT_HISTORY)),
+  /**
+   * Bulk reads and searches.
+   */
+  LOW(EnumSet.of(GET_STUDENTS, GET_PAGINATED_STUDENT_BY_CRITERIA));
+
+  private final Set<EventType> eventTypes;
+
+  EventPriority(final Set<EventType> eventTypes) {
+    this.eventTypes = Collections.unmodifiableSet(eventTypes);
+  }
+
+  /**
+   * Find the priority of the event type, event types without an explicit priority are {@link #NORMAL}.
+   *
+   * @param eventType the event type
+   * @return the event priority
+   */
+  public static EventPriority of(final EventType eventType) {
+    for (final EventPriority priority : values()) {
+      if (priority.eventTypes.contains(eventType)) {
+        return priority;
+      }
+    }
+    return NORMAL;
+  }
+}
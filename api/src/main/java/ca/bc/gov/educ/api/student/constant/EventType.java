@@ -20,6 +20,10 @@ public enum EventType {
    * Update student event type.
    */
   UPDATE_STUDENT,
+  /**
+   * Delete student event type.
+   */
+  DELETE_STUDENT,
   /**
    * Get student event type.
    */
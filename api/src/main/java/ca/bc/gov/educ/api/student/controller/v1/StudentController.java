@@ -6,12 +6,16 @@ import ca.bc.gov.educ.api.student.exception.errors.ApiError;
 import ca.bc.gov.educ.api.student.mappers.v1.StudentMapper;
 import ca.bc.gov.educ.api.student.messaging.jetstream.Publisher;
 import ca.bc.gov.educ.api.student.model.v1.StudentEntity;
+import ca.bc.gov.educ.api.student.model.v1.StudentVersion;
+import ca.bc.gov.educ.api.student.service.v1.CodeTableResponseService;
 import ca.bc.gov.educ.api.student.service.v1.StudentSearchService;
 import ca.bc.gov.educ.api.student.service.v1.StudentService;
 import ca.bc.gov.educ.api.student.service.v1.StudentWrapperService;
 import ca.bc.gov.educ.api.student.struct.v1.*;
-import ca.bc.gov.educ.api.student.util.JsonUtil;
+import ca.bc.gov.educ.api.student.util.MappedPage;
 import ca.bc.gov.educ.api.student.util.RequestUtil;
+import ca.bc.gov.educ.api.student.util.SearchShape;
+import ca.bc.gov.educ.api.student.util.SingleFlight;
 import ca.bc.gov.educ.api.student.validator.StudentPayloadValidator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.AccessLevel;
@@ -32,9 +36,9 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 
 
 /**
@@ -59,6 +63,13 @@ public class StudentController implements StudentEndpoint {
   private static final StudentMapper mapper = StudentMapper.mapper;
   private final StudentSearchService studentSearchService;
 
+  @Getter(AccessLevel.PRIVATE)
+  private final CodeTableResponseService codeTableResponseService;
+  /**
+   * Concurrent requests for the same PEN share one query.
+   */
+  private final SingleFlight<String, Optional<StudentEntity>> studentByPenFlight = new SingleFlight<>();
+
   /**
    * Instantiates a new Student controller.
    *
@@ -66,24 +77,39 @@ public class StudentController implements StudentEndpoint {
    * @param publisher            the publisher
    * @param studentEventService  the student event service
    * @param payloadValidator     the payload validator
-   * @param studentSearchService the student search service
+   * @param studentSearchService     the student search service
+   * @param codeTableResponseService the code table response service
    */
   @Autowired
-  StudentController(final StudentService studentService, Publisher publisher, StudentWrapperService studentEventService, StudentPayloadValidator payloadValidator, StudentSearchService studentSearchService) {
+  StudentController(final StudentService studentService, Publisher publisher, StudentWrapperService studentEventService, StudentPayloadValidator payloadValidator, StudentSearchService studentSearchService,
+                    CodeTableResponseService codeTableResponseService) {
     this.service = studentService;
     this.publisher = publisher;
     this.studentEventService = studentEventService;
     this.payloadValidator = payloadValidator;
     this.studentSearchService = studentSearchService;
+    this.codeTableResponseService = codeTableResponseService;
   }
 
-  public Student readStudent(String studentID) {
-    return mapper.toStructure(getService().retrieveStudent(UUID.fromString(studentID)));
+  public ResponseEntity<Student> readStudent(String studentID, String ifNoneMatch) {
+    StudentEntity student = getService().retrieveStudent(UUID.fromString(studentID));
+    String eTag = StudentVersion.of(student).eTag();
+    if (ifNoneMatch != null && RequestUtil.isNotModified(ifNoneMatch, eTag)) {
+      return ResponseEntity.status(NOT_MODIFIED).eTag(eTag).build();
+    }
+    return ResponseEntity.ok().eTag(eTag).body(mapper.toStructure(student));
   }
 
-  public List<Student> findStudent(String pen) {
-    Optional<StudentEntity> studentsResponse = getService().retrieveStudentByPen(pen);
-    return studentsResponse.map(mapper::toStructure).map(Collections::singletonList).orElseGet(Collections::emptyList);
+  public ResponseEntity<List<Student>> findStudent(String pen, String ifNoneMatch) {
+    Optional<StudentEntity> student = studentByPenFlight.load(pen, () -> getService().retrieveCachedStudentByPen(pen));
+    if (student.isEmpty()) {
+      return ResponseEntity.ok(Collections.emptyList());
+    }
+    String eTag = StudentVersion.of(student.get()).eTag();
+    if (ifNoneMatch != null && RequestUtil.isNotModified(ifNoneMatch, eTag)) {
+      return ResponseEntity.status(NOT_MODIFIED).eTag(eTag).build();
+    }
+    return ResponseEntity.ok().eTag(eTag).body(Collections.singletonList(mapper.toStructure(student.get())));
   }
 
   public Student createStudent(StudentCreate student) throws JsonProcessingException {
@@ -112,30 +138,30 @@ public class StudentController implements StudentEndpoint {
     }
   }
 
-  public List<GenderCode> getGenderCodes() {
-    return getService().getGenderCodesList().stream().map(mapper::toStructure).collect(Collectors.toList());
+  public ResponseEntity<byte[]> getGenderCodes(String acceptEncoding) {
+    return getCodeTableResponseService().getGenderCodes(acceptEncoding);
   }
 
-  public List<SexCode> getSexCodes() {
-    return getService().getSexCodesList().stream().map(mapper::toStructure).collect(Collectors.toList());
+  public ResponseEntity<byte[]> getSexCodes(String acceptEncoding) {
+    return getCodeTableResponseService().getSexCodes(acceptEncoding);
   }
 
-  public List<DemogCode> getDemogCodes() {
-    return getService().getDemogCodesList().stream().map(mapper::toStructure).collect(Collectors.toList());
+  public ResponseEntity<byte[]> getDemogCodes(String acceptEncoding) {
+    return getCodeTableResponseService().getDemogCodes(acceptEncoding);
   }
 
-  public List<GradeCode> getGradeCodes() {
-    return getService().getGradeCodesList().stream().map(mapper::toStructure).collect(Collectors.toList());
+  public ResponseEntity<byte[]> getGradeCodes(String acceptEncoding) {
+    return getCodeTableResponseService().getGradeCodes(acceptEncoding);
   }
 
-  public List<StatusCode> getStatusCodes() {
-    return getService().getStatusCodesList().stream().map(mapper::toStructure).collect(Collectors.toList());
+  public ResponseEntity<byte[]> getStatusCodes(String acceptEncoding) {
+    return getCodeTableResponseService().getStatusCodes(acceptEncoding);
   }
 
   @Override
   @Transactional
-  public ResponseEntity<Void> deleteById(final UUID id) {
-    getService().deleteById(id);
+  public ResponseEntity<Void> deleteById(final UUID id) throws JsonProcessingException {
+    publisher.dispatchChoreographyEvent(getService().deleteById(id));
     return ResponseEntity.noContent().build();
   }
 
@@ -143,13 +169,14 @@ public class StudentController implements StudentEndpoint {
   @Transactional(propagation = Propagation.SUPPORTS)
   public CompletableFuture<Page<Student>> findAll(Integer pageNumber, Integer pageSize, String sortCriteriaJson, String searchCriteriaListJson) {
     final List<Sort.Order> sorts = new ArrayList<>();
-    Specification<StudentEntity> studentSpecs = studentSearchService.setSpecificationAndSortCriteria(sortCriteriaJson, searchCriteriaListJson, JsonUtil.mapper, sorts);
-    return getService().findAll(studentSpecs, pageNumber, pageSize, sorts).thenApplyAsync(studentEntities -> studentEntities.map(mapper::toStructure));
+    final List<Search> searches = studentSearchService.readSearches(searchCriteriaListJson);
+    Specification<StudentEntity> studentSpecs = studentSearchService.setSpecificationAndSortCriteria(sortCriteriaJson, searches, sorts);
+    return getService().findAll(studentSpecs, SearchShape.of(searches), pageNumber, pageSize, sorts).thenApply(studentEntities -> new MappedPage<>(studentEntities, mapper::toStructure));
   }
 
   @Override
-  public List<DocTypeCode> getDocTypeCodes() {
-    return getService().getAllDocTypeCodes().stream().map(mapper::toStructure).collect(Collectors.toList());
+  public ResponseEntity<byte[]> getDocTypeCodes(String acceptEncoding) {
+    return getCodeTableResponseService().getDocumentTypeCodes(acceptEncoding);
   }
 
 }
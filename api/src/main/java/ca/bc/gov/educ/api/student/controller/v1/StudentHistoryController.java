@@ -7,13 +7,15 @@ import ca.bc.gov.educ.api.student.filter.FilterOperation;
 import ca.bc.gov.educ.api.student.filter.StudentHistoryFilterSpecs;
 import ca.bc.gov.educ.api.student.mappers.v1.StudentHistoryMapper;
 import ca.bc.gov.educ.api.student.model.v1.StudentHistoryEntity;
+import ca.bc.gov.educ.api.student.service.v1.CodeTableResponseService;
 import ca.bc.gov.educ.api.student.service.v1.StudentHistoryService;
 import ca.bc.gov.educ.api.student.struct.v1.*;
+import ca.bc.gov.educ.api.student.util.JsonUtil;
+import ca.bc.gov.educ.api.student.util.MappedPage;
 import ca.bc.gov.educ.api.student.util.RequestUtil;
+import ca.bc.gov.educ.api.student.util.SearchShape;
 import ca.bc.gov.educ.api.student.util.TransformUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -22,12 +24,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 
 /**
@@ -42,55 +44,59 @@ public class StudentHistoryController implements StudentHistoryEndpoint {
   private static final StudentHistoryMapper mapper = StudentHistoryMapper.mapper;
   private final StudentHistoryFilterSpecs studentHistoryFilterSpecs;
 
+  @Getter(AccessLevel.PRIVATE)
+  private final CodeTableResponseService codeTableResponseService;
+
   /**
    * Instantiates a new Student history controller.
    *
    * @param studentHistoryService     the student history service
    * @param studentHistoryFilterSpecs the student history filter specs
+   * @param codeTableResponseService  the code table response service
    */
   @Autowired
-  StudentHistoryController(final StudentHistoryService studentHistoryService, StudentHistoryFilterSpecs studentHistoryFilterSpecs) {
+  StudentHistoryController(final StudentHistoryService studentHistoryService, StudentHistoryFilterSpecs studentHistoryFilterSpecs, CodeTableResponseService codeTableResponseService) {
     this.service = studentHistoryService;
     this.studentHistoryFilterSpecs = studentHistoryFilterSpecs;
+    this.codeTableResponseService = codeTableResponseService;
   }
 
   @Override
-  public List<StudentHistoryActivityCode> getStudentHistoryActivityCodes() {
-    return getService().getStudentHistoryActivityCodesList().stream().map(mapper::toStructure).collect(Collectors.toList());
+  public ResponseEntity<byte[]> getStudentHistoryActivityCodes(String acceptEncoding) {
+    return getCodeTableResponseService().getStudentHistoryActivityCodes(acceptEncoding);
   }
 
   @Override
   public CompletableFuture<Page<StudentHistory>> findStudentHistoryByStudentID(String studentID, Integer pageNumber, Integer pageSize, String sortCriteriaJson) {
-    final ObjectMapper objectMapper = new ObjectMapper();
     final List<Sort.Order> sorts = new ArrayList<>();
     try {
-      RequestUtil.getSortCriteria(sortCriteriaJson, objectMapper, sorts);
+      RequestUtil.getSortCriteria(sortCriteriaJson, JsonUtil.mapper, sorts);
     } catch (JsonProcessingException e) {
       throw new StudentRuntimeException(e.getMessage());
     }
-    return getService().findStudentHistoryByStudentID(pageNumber, pageSize, sorts, studentID).thenApplyAsync(studentHistoryEntities -> studentHistoryEntities.map(mapper::toStructure));
+    return getService().findStudentHistoryByStudentID(pageNumber, pageSize, sorts, studentID).thenApply(studentHistoryEntities -> new MappedPage<>(studentHistoryEntities, mapper::toStructure));
   }
 
   @Override
   public CompletableFuture<Page<StudentHistory>> findAll(Integer pageNumber, Integer pageSize, String sortCriteriaJson, String searchCriteriaListJson) {
-    final ObjectMapper objectMapper = new ObjectMapper();
     final List<Sort.Order> sorts = new ArrayList<>();
     Specification<StudentHistoryEntity> studentHistorySpecs = null;
+    String searchShape = SearchShape.NONE;
     try {
-      RequestUtil.getSortCriteria(sortCriteriaJson, objectMapper, sorts);
+      RequestUtil.getSortCriteria(sortCriteriaJson, JsonUtil.mapper, sorts);
       if (StringUtils.isNotBlank(searchCriteriaListJson)) {
-        List<Search> searches = objectMapper.readValue(searchCriteriaListJson, new TypeReference<>() {
-        });
+        List<Search> searches = JsonUtil.SEARCH_LIST_READER.readValue(searchCriteriaListJson);
         int i = 0;
         for (var search : searches) {
           studentHistorySpecs = getSpecifications(studentHistorySpecs, i, search);
           i++;
         }
+        searchShape = SearchShape.of(searches);
       }
     } catch (JsonProcessingException e) {
       throw new StudentRuntimeException(e.getMessage());
     }
-    return getService().findAll(studentHistorySpecs, pageNumber, pageSize, sorts).thenApplyAsync(studentHistoryEntities -> studentHistoryEntities.map(mapper::toStructure));
+    return getService().findAll(studentHistorySpecs, searchShape, pageNumber, pageSize, sorts).thenApply(studentHistoryEntities -> new MappedPage<>(studentHistoryEntities, mapper::toStructure));
   }
 
   @Override
@@ -4,12 +4,16 @@ import ca.bc.gov.educ.api.student.struct.v1.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.repository.query.Param;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -35,24 +39,26 @@ public interface StudentEndpoint {
   /**
    * Read student student.
    *
-   * @param studentID the student id
+   * @param studentID   the student id
+   * @param ifNoneMatch the If-None-Match header
    * @return the student
    */
   @GetMapping("/{studentID}")
   @PreAuthorize("hasAuthority('SCOPE_READ_STUDENT')")
-  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK"), @ApiResponse(responseCode = "404", description = "NOT FOUND")})
-  Student readStudent(@PathVariable String studentID);
+  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK"), @ApiResponse(responseCode = "304", description = "NOT MODIFIED"), @ApiResponse(responseCode = "404", description = "NOT FOUND")})
+  ResponseEntity<Student> readStudent(@PathVariable String studentID, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
   /**
    * Find student list.
    *
-   * @param pen the pen
+   * @param pen         the pen
+   * @param ifNoneMatch the If-None-Match header
    * @return the list
    */
   @GetMapping
   @PreAuthorize("hasAuthority('SCOPE_READ_STUDENT')")
-  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-  List<Student> findStudent(@Param("pen") String pen);
+  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK"), @ApiResponse(responseCode = "304", description = "NOT MODIFIED")})
+  ResponseEntity<List<Student>> findStudent(@Param("pen") String pen, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
   /**
    * Create student student.
@@ -83,63 +89,74 @@ public interface StudentEndpoint {
   /**
    * Gets sex codes.
    *
+   * @param acceptEncoding the accept encoding header
    * @return the sex codes
    */
   @PreAuthorize("hasAuthority('SCOPE_READ_STUDENT_CODES')")
   @GetMapping(SEX_CODES)
-  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-  List<SexCode> getSexCodes();
+  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = SexCode.class)))),
+      @ApiResponse(responseCode = "304", description = "NOT MODIFIED")})
+  ResponseEntity<byte[]> getSexCodes(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding);
 
   /**
    * Gets status codes.
    *
+   * @param acceptEncoding the accept encoding header
    * @return the status codes
    */
   @PreAuthorize("hasAuthority('SCOPE_READ_STUDENT_CODES')")
   @GetMapping(STATUS_CODES)
-  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-  List<StatusCode> getStatusCodes();
+  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = StatusCode.class)))),
+      @ApiResponse(responseCode = "304", description = "NOT MODIFIED")})
+  ResponseEntity<byte[]> getStatusCodes(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding);
 
   /**
    * Gets demog codes.
    *
+   * @param acceptEncoding the accept encoding header
    * @return the demog codes
    */
   @PreAuthorize("hasAuthority('SCOPE_READ_STUDENT_CODES')")
   @GetMapping(DEMOG_CODES)
-  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-  List<DemogCode> getDemogCodes();
+  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = DemogCode.class)))),
+      @ApiResponse(responseCode = "304", description = "NOT MODIFIED")})
+  ResponseEntity<byte[]> getDemogCodes(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding);
 
   /**
    * Gets grade codes.
    *
+   * @param acceptEncoding the accept encoding header
    * @return the grade codes
    */
   @PreAuthorize("hasAuthority('SCOPE_READ_STUDENT_CODES')")
   @GetMapping(GRADE_CODES)
-  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-  List<GradeCode> getGradeCodes();
+  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = GradeCode.class)))),
+      @ApiResponse(responseCode = "304", description = "NOT MODIFIED")})
+  ResponseEntity<byte[]> getGradeCodes(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding);
 
   /**
    * Gets gender codes.
    *
+   * @param acceptEncoding the accept encoding header
    * @return the gender codes
    */
   @PreAuthorize("hasAuthority('SCOPE_READ_STUDENT_CODES')")
   @GetMapping(GENDER_CODES)
-  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-  List<GenderCode> getGenderCodes();
+  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = GenderCode.class)))),
+      @ApiResponse(responseCode = "304", description = "NOT MODIFIED")})
+  ResponseEntity<byte[]> getGenderCodes(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding);
 
   /**
    * Delete by id response entity.
    *
    * @param id the id
    * @return the response entity
+   * @throws JsonProcessingException the json processing exception
    */
   @DeleteMapping("/{id}")
   @PreAuthorize("hasAuthority('SCOPE_DELETE_STUDENT')")
   @ApiResponses(value = {@ApiResponse(responseCode = "204", description = "NO CONTENT"), @ApiResponse(responseCode = "404", description = "NOT FOUND."), @ApiResponse(responseCode = "500", description = "INTERNAL SERVER ERROR.")})
-  ResponseEntity<Void> deleteById(@PathVariable UUID id);
+  ResponseEntity<Void> deleteById(@PathVariable UUID id) throws JsonProcessingException;
 
   /**
    * Find all completable future.
@@ -163,6 +180,7 @@ public interface StudentEndpoint {
 
   @PreAuthorize("hasAuthority('SCOPE_READ_STUDENT_CODES')")
   @GetMapping(DOC_TYPE_CODES)
-  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-  List<DocTypeCode> getDocTypeCodes();
+  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = DocTypeCode.class)))),
+      @ApiResponse(responseCode = "304", description = "NOT MODIFIED")})
+  ResponseEntity<byte[]> getDocTypeCodes(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding);
 }
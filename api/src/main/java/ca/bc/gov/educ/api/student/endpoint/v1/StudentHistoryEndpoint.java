@@ -3,19 +3,24 @@ package ca.bc.gov.educ.api.student.endpoint.v1;
 import ca.bc.gov.educ.api.student.struct.v1.Student;
 import ca.bc.gov.educ.api.student.struct.v1.StudentHistory;
 import ca.bc.gov.educ.api.student.struct.v1.StudentHistoryActivityCode;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static ca.bc.gov.educ.api.student.constant.v1.URL.*;
@@ -29,12 +34,14 @@ public interface StudentHistoryEndpoint {
   /**
    * Gets student history activity codes.
    *
+   * @param acceptEncoding the accept encoding header
    * @return the student history activity codes
    */
   @PreAuthorize("hasAuthority('SCOPE_READ_STUDENT_CODES')")
   @GetMapping(HISTORY_ACTIVITY_CODES)
-  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK")})
-  List<StudentHistoryActivityCode> getStudentHistoryActivityCodes();
+  @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = StudentHistoryActivityCode.class)))),
+      @ApiResponse(responseCode = "304", description = "NOT MODIFIED")})
+  ResponseEntity<byte[]> getStudentHistoryActivityCodes(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding);
 
   /**
    * Find student history by student id completable future.
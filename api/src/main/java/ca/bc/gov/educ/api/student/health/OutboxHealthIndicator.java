@@ -0,0 +1,45 @@
+package ca.bc.gov.educ.api.student.health;
+
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import ca.bc.gov.educ.api.student.service.v1.OutboxMetricsService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Reports the outbox as DEGRADED when too many events are waiting to be published to jet stream, or the oldest has waited too long.
+ * The DEGRADED status is ordered between OUT_OF_SERVICE and UP and answered with 200, so it shows in the health endpoint without failing probes.
+ */
+@Component
+public class OutboxHealthIndicator implements HealthIndicator {
+  /**
+   * The DEGRADED status.
+   */
+  public static final Status DEGRADED = new Status("DEGRADED", "outbox backlog is over its threshold");
+  private final OutboxMetricsService outboxMetricsService;
+  private final long maxBacklog;
+  private final Duration maxAge;
+
+  public OutboxHealthIndicator(final OutboxMetricsService outboxMetricsService, final ApplicationProperties applicationProperties) {
+    this.outboxMetricsService = outboxMetricsService;
+    this.maxBacklog = applicationProperties.getOutboxDegradedBacklog();
+    this.maxAge = Duration.ofSeconds(applicationProperties.getOutboxDegradedAgeSeconds());
+  }
+
+  @Override
+  public Health health() {
+    final OutboxMetricsService.OutboxSample sample = this.outboxMetricsService.getSample();
+    if (sample == null) {
+      return Health.unknown().withDetail("outbox", "not sampled yet").build();
+    }
+    final Duration age = sample.oldestUnpublishedAge();
+    final Health.Builder builder = sample.backlog() > this.maxBacklog || age.compareTo(this.maxAge) > 0 ? Health.status(DEGRADED) : Health.up();
+    return builder.withDetail("backlog", sample.backlog())
+        .withDetail("oldestUnpublishedAgeSeconds", age.toSeconds())
+        .withDetail("maxBacklog", this.maxBacklog)
+        .withDetail("maxAgeSeconds", this.maxAge.toSeconds()).build();
+  }
+}
@@ -1,5 +1,7 @@
 package ca.bc.gov.educ.api.student.health;
 
+import ca.bc.gov.educ.api.student.messaging.MessageSubscriber;
+import ca.bc.gov.educ.api.student.messaging.jetstream.Publisher;
 import io.nats.client.Connection;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
@@ -8,9 +10,13 @@ import org.springframework.stereotype.Component;
 @Component
 public class StudentAPICustomHealthCheck implements HealthIndicator {
   private final Connection natsConnection;
+  private final MessageSubscriber messageSubscriber;
+  private final Publisher publisher;
 
-  public StudentAPICustomHealthCheck(Connection natsConnection) {
+  public StudentAPICustomHealthCheck(Connection natsConnection, MessageSubscriber messageSubscriber, Publisher publisher) {
     this.natsConnection = natsConnection;
+    this.messageSubscriber = messageSubscriber;
+    this.publisher = publisher;
   }
 
   @Override
@@ -28,6 +34,8 @@ public class StudentAPICustomHealthCheck implements HealthIndicator {
     if (this.natsConnection.getStatus() == Connection.Status.CLOSED) {
       return Health.down().withDetail("NATS", " Connection is Closed.").build();
     }
-    return Health.up().build();
+    Health.Builder builder = this.messageSubscriber.isDraining() ? Health.outOfService() : Health.up();
+    return builder.withDetail("inFlightMessages", this.messageSubscriber.getInFlightMessageCount())
+        .withDetail("pendingJetStreamAcks", this.publisher.getPendingAckCount()).build();
   }
 }
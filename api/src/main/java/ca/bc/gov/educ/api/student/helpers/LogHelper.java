@@ -1,7 +1,7 @@
 package ca.bc.gov.educ.api.student.helpers;
 
 import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.slf4j.MDC;
@@ -9,38 +9,60 @@ import org.springframework.lang.NonNull;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
 
+/**
+ * Writes the http and messaging events as json into the MDC, the log pattern places them raw in the structured log line.
+ * The http event is written field by field into one pre sized builder, there is no intermediate map or object mapper.
+ * Payloads longer than the configured cap are cut and written as a json string, so the log line stays valid json.
+ * The MDC is copied when the event is logged, so the async appenders can write it after the key is removed.
+ */
 @Slf4j
 public final class LogHelper {
-  private static final ObjectMapper mapper = new ObjectMapper();
+  private static final String HTTP_EVENT = "httpEvent";
+  private static final String MESSAGE_EVENT = "messageEvent";
+  private static final String TRUNCATED = "...(truncated)";
+  private static final int HTTP_EVENT_CAPACITY = 512;
+  private static final JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+  private static volatile int payloadMaxLength = 4096;
 
   private LogHelper() {
 
   }
 
+  /**
+   * Sets the max length of the payloads written to the log.
+   *
+   * @param maxLength the max length in chars, longer payloads are cut
+   */
+  public static void setPayloadMaxLength(final int maxLength) {
+    payloadMaxLength = Math.max(0, maxLength);
+  }
+
   public static void logServerHttpReqResponseDetails(@NonNull final HttpServletRequest request, final HttpServletResponse response) {
+    if (!log.isInfoEnabled()) {
+      return;
+    }
     try {
-      final int status = response.getStatus();
       val totalTime = Instant.now().toEpochMilli() - (Long) request.getAttribute("startTime");
-      final Map<String, Object> httpMap = new HashMap<>();
-      httpMap.put("server_http_response_code", status);
-      httpMap.put("server_http_request_method", request.getMethod());
-      httpMap.put("server_http_query_params", request.getQueryString());
+      final StringBuilder httpEvent = new StringBuilder(HTTP_EVENT_CAPACITY).append('{');
+      appendNumber(httpEvent, "server_http_response_code", response.getStatus());
+      appendString(httpEvent, "server_http_request_method", request.getMethod());
+      appendString(httpEvent, "server_http_query_params", request.getQueryString());
       val correlationID = request.getHeader(ApplicationProperties.CORRELATION_ID);
       if (correlationID != null) {
-        httpMap.put("correlation_id", correlationID);
+        appendString(httpEvent, "correlation_id", correlationID);
+      }
+      appendString(httpEvent, "server_http_request_url", String.valueOf(request.getRequestURL()));
+      appendNumber(httpEvent, "server_http_request_processing_time_ms", totalTime);
+      appendString(httpEvent, "server_http_request_payload", capped(String.valueOf(request.getAttribute("payload"))));
+      appendString(httpEvent, "server_http_request_remote_address", request.getRemoteAddr());
+      appendString(httpEvent, "server_http_request_client_name", request.getHeader("X-Client-Name"));
+      httpEvent.setCharAt(httpEvent.length() - 1, '}');
+      try (val ignored = MDC.putCloseable(HTTP_EVENT, httpEvent.toString())) {
+        log.info("");
       }
-      httpMap.put("server_http_request_url", String.valueOf(request.getRequestURL()));
-      httpMap.put("server_http_request_processing_time_ms", totalTime);
-      httpMap.put("server_http_request_payload", String.valueOf(request.getAttribute("payload")));
-      httpMap.put("server_http_request_remote_address", request.getRemoteAddr());
-      httpMap.put("server_http_request_client_name", request.getHeader("X-Client-Name"));
-      MDC.putCloseable("httpEvent", mapper.writeValueAsString(httpMap));
-      log.info("");
-      MDC.clear();
     } catch (final Exception exception) {
       log.error("Exception ", exception);
     }
@@ -52,12 +74,92 @@ public final class LogHelper {
    * @param event the json string
    */
   public static void logMessagingEventDetails(final String event) {
-    try {
-      MDC.putCloseable("messageEvent", event);
+    if (!log.isInfoEnabled()) {
+      return;
+    }
+    if (event == null || event.length() <= payloadMaxLength) {
+      logMessageEvent(event);
+    } else {
+      logMessageEvent(quoted(capped(event)));
+    }
+  }
+
+  /**
+   * the event is utf-8 json, it is cut by chars like the string events. Only the bytes which can hold the chars within the cap are decoded,
+   * a char takes at most 3 bytes, or 4 bytes for a surrogate pair of 2 chars.
+   *
+   * @param event the json bytes
+   */
+  public static void logMessagingEventDetails(final byte[] event) {
+    if (!log.isInfoEnabled() || event == null) {
+      return;
+    }
+    final int decodedLength = (int) Math.min(event.length, 3L * payloadMaxLength + 3);
+    final String decoded = new String(event, 0, decodedLength, StandardCharsets.UTF_8);
+    if (decodedLength == event.length && decoded.length() <= payloadMaxLength) {
+      logMessageEvent(decoded);
+    } else {
+      logMessageEvent(quoted(capped(decoded)));
+    }
+  }
+
+  /**
+   * the event is in a binary wire format, only its content type, size and identity are logged instead of converting it to json.
+   *
+   * @param contentType the content type of the wire format
+   * @param length      the length of the body in bytes
+   * @param eventType   the event type, may be null
+   * @param eventId     the saga id or event id, may be null
+   */
+  public static void logBinaryMessagingEventDetails(final String contentType, final int length, final String eventType, final String eventId) {
+    if (!log.isInfoEnabled()) {
+      return;
+    }
+    final StringBuilder messageEvent = new StringBuilder(128).append('{');
+    appendString(messageEvent, "contentType", contentType);
+    appendNumber(messageEvent, "length", length);
+    appendString(messageEvent, "eventType", eventType);
+    appendString(messageEvent, "eventId", eventId);
+    messageEvent.setCharAt(messageEvent.length() - 1, '}');
+    logMessageEvent(messageEvent.toString());
+  }
+
+  private static void logMessageEvent(final String messageEvent) {
+    try (val ignored = MDC.putCloseable(MESSAGE_EVENT, messageEvent)) {
       log.info("");
-      MDC.clear();
     } catch (final Exception exception) {
       log.error("Exception ", exception);
     }
   }
+
+  private static String capped(final String payload) {
+    final int maxLength = payloadMaxLength;
+    if (payload.length() <= maxLength) {
+      return payload;
+    }
+    final int end = maxLength > 0 && Character.isHighSurrogate(payload.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+    return payload.substring(0, end) + TRUNCATED;
+  }
+
+  private static String quoted(final String value) {
+    final StringBuilder quoted = new StringBuilder(value.length() + 16).append('"');
+    encoder.quoteAsString(value, quoted);
+    return quoted.append('"').toString();
+  }
+
+  private static void appendString(final StringBuilder json, final String name, final String value) {
+    json.append('"').append(name).append("\":");
+    if (value == null) {
+      json.append("null");
+    } else {
+      json.append('"');
+      encoder.quoteAsString(value, json);
+      json.append('"');
+    }
+    json.append(',');
+  }
+
+  private static void appendNumber(final StringBuilder json, final String name, final long value) {
+    json.append('"').append(name).append("\":").append(value).append(',');
+  }
 }
@@ -0,0 +1,194 @@
+package ca.bc.gov.educ.api.student.messaging;
+
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
+import ca.bc.gov.educ.api.student.constant.EventPriority;
+import ca.bc.gov.educ.api.student.constant.EventType;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import ca.bc.gov.educ.api.student.service.v1.EventHandlerDelegatorService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One bulkhead per handled event type, so a burst of one event type can not hold up the others.
+ * Every bulkhead caps the running events and the queued events of its event type, sized by the {@link EventPriority} of the event type.
+ * The bulkheads share one pool of event workers, sized within the JDBC budget. The events a bulkhead lets through wait for a worker in
+ * priority order, so a saga write step gets the next free worker ahead of queued lookups and bulk reads.
+ */
+@Component
+@Slf4j
+public class EventBulkheads {
+  private final Map<EventType, Bulkhead> bulkheads = new EnumMap<>(EventType.class);
+  private final ExecutorService eventWorkers;
+  private final AtomicLong sequence = new AtomicLong();
+
+  /**
+   * Instantiates a new Event bulkheads.
+   *
+   * @param applicationProperties the application properties
+   * @param executorFactory       the executor factory
+   * @param meterRegistry         the meter registry
+   */
+  @Autowired
+  public EventBulkheads(final ApplicationProperties applicationProperties, final ExecutorFactory executorFactory, final MeterRegistry meterRegistry) {
+    this.eventWorkers = executorFactory.newPriorityJdbcExecutor("nats-event-worker-%d", applicationProperties.getNatsEventWorkerThreads());
+    for (final EventType eventType : EventHandlerDelegatorService.SUPPORTED_EVENT_TYPES) {
+      final EventPriority priority = EventPriority.of(eventType);
+      this.bulkheads.put(eventType, new Bulkhead(eventType, priority, applicationProperties.getBulkheadConcurrency(priority),
+          applicationProperties.getBulkheadQueueSize(priority), meterRegistry));
+    }
+  }
+
+  /**
+   * Queue the task on the bulkhead of the event type.
+   *
+   * @param eventType the event type
+   * @param task      the task
+   * @return false if the bulkhead queue is full or the event type is not handled, the task is not run then
+   */
+  public boolean submit(final EventType eventType, final Runnable task) {
+    final Bulkhead bulkhead = this.bulkheads.get(eventType);
+    if (bulkhead == null) {
+      log.info("no bulkhead for event type :: {}", eventType);
+      return false;
+    }
+    return bulkhead.submit(task);
+  }
+
+  /**
+   * Gets the number of queued tasks not yet started for the event type.
+   *
+   * @param eventType the event type
+   * @return the queue depth
+   */
+  public int getQueueDepth(final EventType eventType) {
+    final Bulkhead bulkhead = this.bulkheads.get(eventType);
+    return bulkhead == null ? 0 : bulkhead.queueDepth.get();
+  }
+
+  /**
+   * A task waiting for an event worker, ordered by priority and then first in first out.
+   */
+  private static final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+    private final EventPriority priority;
+    private final long sequence;
+    private final Runnable task;
+
+    private PrioritizedTask(final EventPriority priority, final long sequence, final Runnable task) {
+      this.priority = priority;
+      this.sequence = sequence;
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      this.task.run();
+    }
+
+    @Override
+    public int compareTo(final PrioritizedTask other) {
+      final int byPriority = this.priority.compareTo(other.priority);
+      return byPriority != 0 ? byPriority : Long.compare(this.sequence, other.sequence);
+    }
+  }
+
+  private final class Bulkhead {
+    private final EventType eventType;
+    private final EventPriority priority;
+    private final int concurrency;
+    private final int queueSize;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Queue<PrioritizedTask> waiting = new ArrayDeque<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    private Bulkhead(final EventType eventType, final EventPriority priority, final int concurrency, final int queueSize, final MeterRegistry meterRegistry) {
+      this.eventType = eventType;
+      this.priority = priority;
+      this.concurrency = concurrency;
+      this.queueSize = queueSize;
+      final String type = eventType.toString();
+      final String priorityTag = priority.toString();
+      Gauge.builder("student.nats.bulkhead.queue.depth", this.queueDepth, AtomicInteger::get).tag("eventType", type).tag("priority", priorityTag)
+          .description("events waiting for a free slot in the bulkhead").register(meterRegistry);
+      Gauge.builder("student.nats.bulkhead.running", this.running, AtomicInteger::get).tag("eventType", type).tag("priority", priorityTag)
+          .description("events let through the bulkhead and not yet done").register(meterRegistry);
+      this.waitTimer = Timer.builder("student.nats.bulkhead.wait").tag("eventType", type).tag("priority", priorityTag)
+          .description("time events spent queued in the bulkhead").register(meterRegistry);
+      this.rejectedCounter = Counter.builder("student.nats.bulkhead.rejected").tag("eventType", type).tag("priority", priorityTag)
+          .description("events rejected as the bulkhead queue was full").register(meterRegistry);
+    }
+
+    private boolean submit(final Runnable task) {
+      if (this.queueDepth.incrementAndGet() > this.queueSize) {
+        this.queueDepth.decrementAndGet();
+        this.rejectedCounter.increment();
+        log.warn("bulkhead queue for {} is full, rejecting the event.", this.eventType);
+        return false;
+      }
+      final long queuedAt = System.nanoTime();
+      final PrioritizedTask prioritizedTask = new PrioritizedTask(this.priority, EventBulkheads.this.sequence.getAndIncrement(), () -> this.run(task, queuedAt));
+      synchronized (this) {
+        if (this.running.get() >= this.concurrency) {
+          this.waiting.add(prioritizedTask);
+          return true;
+        }
+        this.running.incrementAndGet();
+      }
+      return this.dispatch(prioritizedTask);
+    }
+
+    private void run(final Runnable task, final long queuedAt) {
+      this.queueDepth.decrementAndGet();
+      this.waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+      try {
+        task.run();
+      } finally {
+        this.dispatchNext();
+      }
+    }
+
+    /**
+     * Hands the next waiting event of this bulkhead to the workers, the running slot of the finished event passes on to it.
+     */
+    private void dispatchNext() {
+      final PrioritizedTask next;
+      synchronized (this) {
+        next = this.waiting.poll();
+        if (next == null) {
+          this.running.decrementAndGet();
+          return;
+        }
+      }
+      this.dispatch(next);
+    }
+
+    private boolean dispatch(final PrioritizedTask prioritizedTask) {
+      try {
+        EventBulkheads.this.eventWorkers.execute(prioritizedTask);
+        return true;
+      } catch (final RejectedExecutionException e) {
+        this.queueDepth.decrementAndGet();
+        this.rejectedCounter.increment();
+        log.error("event workers rejected the {} event.", this.eventType, e);
+        this.dispatchNext();
+        return false;
+      }
+    }
+  }
+}
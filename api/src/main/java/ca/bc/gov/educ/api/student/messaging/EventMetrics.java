@@ -0,0 +1,160 @@
+package ca.bc.gov.educ.api.student.messaging;
+
+import ca.bc.gov.educ.api.student.constant.EventOutcome;
+import ca.bc.gov.educ.api.student.constant.EventType;
+import ca.bc.gov.educ.api.student.service.v1.EventHandlerDelegatorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers of the phases a NATS event goes through, tagged by event type.
+ * The timers of the handled event types are registered up front so the hot path only does an enum map lookup, the handler timers
+ * are also tagged by the outcome of the event and are registered the first time an outcome is seen.
+ */
+@Component
+public class EventMetrics {
+  private static final String EVENT_TYPE = "eventType";
+  private static final String NO_OUTCOME = "NONE";
+  private static final String ERROR = "ERROR";
+  private final MeterRegistry meterRegistry;
+  private final Map<EventType, Timer> queueWaitTimers = new EnumMap<>(EventType.class);
+  private final Map<EventType, Timer> dbTimers = new EnumMap<>(EventType.class);
+  private final Map<EventType, Timer> serializationTimers = new EnumMap<>(EventType.class);
+  private final Map<EventType, Timer> replyPublishTimers = new EnumMap<>(EventType.class);
+  private final Map<EventType, Map<String, Timer>> handlerTimers = new EnumMap<>(EventType.class);
+
+  /**
+   * Instantiates a new Event metrics.
+   *
+   * @param meterRegistry the meter registry
+   */
+  @Autowired
+  public EventMetrics(final MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    for (final EventType eventType : EventHandlerDelegatorService.SUPPORTED_EVENT_TYPES) {
+      final String type = eventType.toString();
+      this.queueWaitTimers.put(eventType, Timer.builder("student.nats.event.queue.wait").tag(EVENT_TYPE, type)
+          .description("time from receiving the message to the start of its handler").register(meterRegistry));
+      this.dbTimers.put(eventType, Timer.builder("student.nats.event.db").tag(EVENT_TYPE, type)
+          .description("time the handler spent in repository and service calls").register(meterRegistry));
+      this.serializationTimers.put(eventType, Timer.builder("student.nats.event.serialization").tag(EVENT_TYPE, type)
+          .description("time the handler spent writing the response").register(meterRegistry));
+      this.replyPublishTimers.put(eventType, Timer.builder("student.nats.event.reply.publish").tag(EVENT_TYPE, type)
+          .description("time taken to publish the response to NATS").register(meterRegistry));
+      this.handlerTimers.put(eventType, new ConcurrentHashMap<>());
+    }
+  }
+
+  /**
+   * Record the time from receiving the message to the start of its handler.
+   *
+   * @param eventType  the event type
+   * @param receivedAt the {@link System#nanoTime()} the message was received at
+   */
+  public void recordQueueWait(final EventType eventType, final long receivedAt) {
+    record(this.queueWaitTimers, eventType, System.nanoTime() - receivedAt);
+  }
+
+  /**
+   * Record the handler time of the event.
+   *
+   * @param eventType the event type
+   * @param outcome   the outcome, null if the handler did not set one
+   * @param failed    whether the handler threw
+   * @param nanos     the handler time in nanos
+   */
+  public void recordHandler(final EventType eventType, final EventOutcome outcome, final boolean failed, final long nanos) {
+    final Map<String, Timer> timers = this.handlerTimers.get(eventType);
+    if (timers == null) {
+      return;
+    }
+    final String outcomeTag;
+    if (failed) {
+      outcomeTag = ERROR;
+    } else {
+      outcomeTag = outcome == null ? NO_OUTCOME : outcome.toString();
+    }
+    timers.computeIfAbsent(outcomeTag, tag -> Timer.builder("student.nats.event.handler").tag(EVENT_TYPE, eventType.toString()).tag("eventOutcome", tag)
+        .description("time taken to handle the event, including the reply").register(this.meterRegistry)).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Time a repository or service call of the handler.
+   *
+   * @param <T>       the result type
+   * @param <E>       the exception type of the call
+   * @param eventType the event type
+   * @param dbCall    the db call
+   * @return the result
+   * @throws E the exception of the call
+   */
+  public <T, E extends Exception> T timeDb(final EventType eventType, final DbCall<T, E> dbCall) throws E {
+    final long start = System.nanoTime();
+    try {
+      return dbCall.get();
+    } finally {
+      this.recordDb(eventType, System.nanoTime() - start);
+    }
+  }
+
+  /**
+   * Record the time of an async repository or service call of the handler.
+   *
+   * @param eventType the event type
+   * @param nanos     the db time in nanos
+   */
+  public void recordDb(final EventType eventType, final long nanos) {
+    record(this.dbTimers, eventType, nanos);
+  }
+
+  /**
+   * Record the time spent writing the response.
+   *
+   * @param eventType the event type
+   * @param nanos     the serialization time in nanos
+   */
+  public void recordSerialization(final EventType eventType, final long nanos) {
+    record(this.serializationTimers, eventType, nanos);
+  }
+
+  /**
+   * Record the time taken to publish the response.
+   *
+   * @param eventType the event type
+   * @param nanos     the publish time in nanos
+   */
+  public void recordReplyPublish(final EventType eventType, final long nanos) {
+    record(this.replyPublishTimers, eventType, nanos);
+  }
+
+  private static void record(final Map<EventType, Timer> timers, final EventType eventType, final long nanos) {
+    final Timer timer = timers.get(eventType);
+    if (timer != null) {
+      timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * A repository or service call, which may throw a checked exception like the service calls writing json.
+   *
+   * @param <T> the result type
+   * @param <E> the exception type
+   */
+  @FunctionalInterface
+  public interface DbCall<T, E extends Exception> {
+    /**
+     * Make the call.
+     *
+     * @return the result
+     * @throws E the exception of the call
+     */
+    T get() throws E;
+  }
+}
@@ -1,6 +1,8 @@
 package ca.bc.gov.educ.api.student.messaging;
 
 import io.nats.client.Connection;
+import io.nats.client.impl.Headers;
+import io.nats.client.impl.NatsMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -35,4 +37,15 @@ public class MessagePublisher {
   public void dispatchMessage(String subject, byte[] message) {
     connection.publish(subject, message);
   }
+
+  /**
+   * Dispatch message along with headers.
+   *
+   * @param subject the subject
+   * @param message the message
+   * @param headers the headers
+   */
+  public void dispatchMessage(String subject, byte[] message, Headers headers) {
+    connection.publish(NatsMessage.builder().subject(subject).headers(headers).data(message).build());
+  }
 }
@@ -1,22 +1,31 @@
 package ca.bc.gov.educ.api.student.messaging;
 
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
+import ca.bc.gov.educ.api.student.config.ShutdownDeadline;
 import ca.bc.gov.educ.api.student.helpers.LogHelper;
 import ca.bc.gov.educ.api.student.messaging.jetstream.Subscriber;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
 import ca.bc.gov.educ.api.student.service.v1.EventHandlerDelegatorService;
 import ca.bc.gov.educ.api.student.struct.v1.Event;
-import ca.bc.gov.educ.api.student.util.JsonUtil;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.nats.client.Connection;
+import io.nats.client.Dispatcher;
 import io.nats.client.Message;
 import io.nats.client.MessageHandler;
 import lombok.extern.slf4j.Slf4j;
-import org.jboss.threads.EnhancedQueueExecutor;
+import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
-import java.time.Duration;
+import jakarta.annotation.PreDestroy;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static ca.bc.gov.educ.api.student.constant.Topics.STUDENT_API_TOPIC;
 
@@ -27,21 +36,71 @@ import static ca.bc.gov.educ.api.student.constant.Topics.STUDENT_API_TOPIC;
 @Component
 @Slf4j
 public class MessageSubscriber {
+  private static final String PAYLOAD_VERSION_V1 = "V1";
+  private static final long DRAIN_POLL_MILLIS = 50;
   private final Executor messageProcessingThreads;
+  private final EventBulkheads eventBulkheads;
+  private final EventMetrics eventMetrics;
   private final EventHandlerDelegatorService eventHandlerDelegatorServiceV1;
   private final Connection connection;
+  private final int highWaterMark;
+  private final OverloadStrategy overloadStrategy;
+  private final AtomicInteger pendingMessages = new AtomicInteger();
+  private final AtomicInteger pendingBusyReplies = new AtomicInteger();
+  private final int maxPendingBusyReplies;
+  private final Counter shedCounter;
+  private final Counter busyReplyDroppedCounter;
+  private final Counter delayedCounter;
+  private final ShutdownDeadline shutdownDeadline;
+  private Dispatcher dispatcher;
+  private boolean paused;
+  private volatile boolean draining;
+
+  /**
+   * What to do with new messages once the pending messages reach the high water mark.
+   */
+  public enum OverloadStrategy {
+    /**
+     * Reply with the retryable busy outcome so the saga backs off, request/reply requesters get no reply and time out. The busy replies
+     * waiting to be sent are capped too, the shed messages over the cap get no reply either.
+     */
+    SHED,
+    /**
+     * Unsubscribe until the pending messages drop to half the high water mark, the other nodes of the queue group take the load meanwhile.
+     */
+    PAUSE
+  }
 
   /**
    * Instantiates a new Message subscriber.
    *
    * @param connection                     the nats connection
    * @param eventHandlerDelegatorServiceV1 the event handler delegator service v 1
+   * @param executorFactory                the executor factory
+   * @param eventBulkheads                 the event bulkheads
+   * @param applicationProperties          the application properties
+   * @param meterRegistry                  the meter registry
+   * @param eventMetrics                   the event metrics
+   * @param shutdownDeadline               the shutdown deadline
    */
   @Autowired
-  public MessageSubscriber(final Connection connection, EventHandlerDelegatorService eventHandlerDelegatorServiceV1) {
+  public MessageSubscriber(final Connection connection, EventHandlerDelegatorService eventHandlerDelegatorServiceV1, final ExecutorFactory executorFactory,
+                           final EventBulkheads eventBulkheads, final ApplicationProperties applicationProperties, final MeterRegistry meterRegistry,
+                           final EventMetrics eventMetrics, final ShutdownDeadline shutdownDeadline) {
     this.eventHandlerDelegatorServiceV1 = eventHandlerDelegatorServiceV1;
     this.connection = connection;
-    messageProcessingThreads = new EnhancedQueueExecutor.Builder().setThreadFactory(new ThreadFactoryBuilder().setNameFormat("nats-message-subscriber-%d").build()).setCorePoolSize(10).setMaximumPoolSize(10).setKeepAliveTime(Duration.ofSeconds(60)).build();
+    this.eventBulkheads = eventBulkheads;
+    this.eventMetrics = eventMetrics;
+    this.highWaterMark = applicationProperties.getNatsIntakeHighWaterMark();
+    this.overloadStrategy = applicationProperties.getNatsIntakeOverloadStrategy();
+    this.maxPendingBusyReplies = applicationProperties.getNatsIntakeBusyReplyMaxPending();
+    this.shutdownDeadline = shutdownDeadline;
+    messageProcessingThreads = executorFactory.newExecutor("nats-message-subscriber-%d", 2, 4);
+    Gauge.builder("student.nats.intake.pending", this.pendingMessages, AtomicInteger::get).description("messages received and not yet processed").register(meterRegistry);
+    this.shedCounter = Counter.builder("student.nats.intake.shed").description("messages answered busy without processing").register(meterRegistry);
+    this.busyReplyDroppedCounter = Counter.builder("student.nats.intake.busy.reply.dropped")
+        .description("shed messages left without a busy reply as too many busy replies were waiting").register(meterRegistry);
+    this.delayedCounter = Counter.builder("student.nats.intake.delayed").description("messages received above the high water mark while the subscription was paused").register(meterRegistry);
   }
 
   /**
@@ -50,29 +109,53 @@ public class MessageSubscriber {
    */
   @PostConstruct
   public void subscribe() {
-    String queue = STUDENT_API_TOPIC.toString().replace("_", "-");
-    var dispatcher = connection.createDispatcher(onMessage());
-    dispatcher.subscribe(STUDENT_API_TOPIC.toString(), queue);
+    dispatcher = connection.createDispatcher(onMessage());
+    dispatcher.subscribe(STUDENT_API_TOPIC.toString(), queueName());
+  }
+
+  private static String queueName() {
+    return STUDENT_API_TOPIC.toString().replace("_", "-");
   }
 
   /**
    * On message message handler.
+   * Only the headers are read on the dispatcher thread. Messages with an event type header go straight to the bulkhead of the event type,
+   * the rest are parsed on the subscriber threads first to find their event type.
    *
    * @return the message handler
    */
   private MessageHandler onMessage() {
     return (Message message) -> {
       if (message != null) {
+        final long receivedAt = System.nanoTime();
         try {
-          var eventString = new String(message.getData());
-          LogHelper.logMessagingEventDetails(eventString);
-          var event = JsonUtil.getJsonObjectFromString(Event.class, eventString);
-          if (event.getPayloadVersion() == null) {
-            event.setPayloadVersion("V1");
-          }
+          val payloadVersion = NatsHeaders.get(message, NatsHeaders.PAYLOAD_VERSION);
           //place holder to have different versions
-          if ("V1".equalsIgnoreCase(event.getPayloadVersion())) {
-            messageProcessingThreads.execute(() -> eventHandlerDelegatorServiceV1.handleEvent(event, message));
+          if (payloadVersion.isPresent() && !PAYLOAD_VERSION_V1.equalsIgnoreCase(payloadVersion.get())) {
+            log.info("ignoring message for saga :: {} with payload version :: {}", NatsHeaders.get(message, NatsHeaders.SAGA_ID).orElse(null), payloadVersion.get());
+            return;
+          }
+          val eventType = NatsHeaders.getEventType(message);
+          if (eventType.isPresent() && !EventHandlerDelegatorService.SUPPORTED_EVENT_TYPES.contains(eventType.get())) {
+            log.info("silently ignoring other events :: {}", eventType.get());
+            return;
+          }
+          if (!admit()) {
+            this.shed(message);
+            return;
+          }
+          if (eventType.isPresent()) {
+            if (!eventBulkheads.submit(eventType.get(), () -> this.parseMessage(message).ifPresentOrElse(event -> this.handleEvent(event, message, receivedAt), this::release))) {
+              this.release();
+              this.shed(message);
+            }
+          } else {
+            try {
+              messageProcessingThreads.execute(() -> this.parseMessage(message).ifPresentOrElse(event -> this.submitToBulkhead(event, message, receivedAt), this::release));
+            } catch (final RejectedExecutionException e) {
+              log.error("message processing threads rejected the message.", e);
+              this.release();
+            }
           }
         } catch (final Exception e) {
           log.error("Exception ", e);
@@ -81,5 +164,175 @@ public class MessageSubscriber {
     };
   }
 
+  /**
+   * Count the message as pending, unless the high water mark is reached and the strategy is to shed.
+   *
+   * @return true if the message should be processed
+   */
+  private boolean admit() {
+    if (pendingMessages.incrementAndGet() <= highWaterMark) {
+      return true;
+    }
+    if (overloadStrategy == OverloadStrategy.SHED) {
+      pendingMessages.decrementAndGet();
+      return false;
+    }
+    delayedCounter.increment();
+    this.pause();
+    return true;
+  }
+
+  private void release() {
+    if (pendingMessages.decrementAndGet() <= highWaterMark / 2) {
+      this.resume();
+    }
+  }
+
+  private synchronized void pause() {
+    if (!paused && dispatcher != null) {
+      log.warn("{} messages pending, pausing the subscription to {}", pendingMessages.get(), STUDENT_API_TOPIC);
+      dispatcher.unsubscribe(STUDENT_API_TOPIC.toString());
+      paused = true;
+    }
+  }
+
+  private synchronized void resume() {
+    if (paused && !draining) {
+      log.info("{} messages pending, resuming the subscription to {}", pendingMessages.get(), STUDENT_API_TOPIC);
+      dispatcher.subscribe(STUDENT_API_TOPIC.toString(), queueName());
+      paused = false;
+    }
+  }
+
+  /**
+   * Stop taking new messages and wait, up to the shutdown deadline, for the messages already taken to be processed. A paginated search
+   * counts as in flight until its async reply is published. Runs before the nats connection is closed, as this bean depends on it.
+   */
+  @PreDestroy
+  public void drain() {
+    synchronized (this) {
+      draining = true;
+      if (dispatcher != null && !paused) {
+        dispatcher.unsubscribe(STUDENT_API_TOPIC.toString());
+      }
+    }
+    log.info("draining {} in flight messages", pendingMessages.get());
+    while (pendingMessages.get() > 0 && !shutdownDeadline.isPassed()) {
+      try {
+        Thread.sleep(DRAIN_POLL_MILLIS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    if (pendingMessages.get() > 0) {
+      log.warn("drain timed out with {} messages still in flight", pendingMessages.get());
+    } else {
+      log.info("all in flight messages processed");
+    }
+  }
+
+  /**
+   * Gets the number of messages received and not yet processed.
+   *
+   * @return the in flight message count
+   */
+  public int getInFlightMessageCount() {
+    return pendingMessages.get();
+  }
+
+  /**
+   * Whether the subscriber is draining for shutdown.
+   *
+   * @return true if draining
+   */
+  public boolean isDraining() {
+    return draining;
+  }
+
+  /**
+   * Runs on the dispatcher thread, so only the reply subject is read here.
+   * A request/reply requester gets no reply and times out, see {@link EventHandlerDelegatorService#handleBusy(Event, Message)}.
+   * The busy reply of a pub/sub requester needs the reply subject from the body, it is parsed and answered on the subscriber threads.
+   * The busy replies waiting for those threads are capped, so the messages held in memory stay bounded while shedding, a shed message
+   * over the cap is dropped without a reply and its saga retries the step after its timeout.
+   */
+  private void shed(final Message message) {
+    shedCounter.increment();
+    if (message.getReplyTo() != null) {
+      return;
+    }
+    if (pendingBusyReplies.incrementAndGet() > maxPendingBusyReplies) {
+      pendingBusyReplies.decrementAndGet();
+      busyReplyDroppedCounter.increment();
+      return;
+    }
+    try {
+      messageProcessingThreads.execute(() -> {
+        try {
+          this.parseMessage(message).ifPresent(event -> eventHandlerDelegatorServiceV1.handleBusy(event, message));
+        } finally {
+          pendingBusyReplies.decrementAndGet();
+        }
+      });
+    } catch (final RejectedExecutionException e) {
+      pendingBusyReplies.decrementAndGet();
+      log.warn("message processing threads rejected the busy reply.", e);
+    }
+  }
+
+  private void submitToBulkhead(final Event event, final Message message, final long receivedAt) {
+    if (!EventHandlerDelegatorService.SUPPORTED_EVENT_TYPES.contains(event.getEventType())) {
+      log.info("silently ignoring other events :: {}", event.getEventType());
+      this.release();
+      return;
+    }
+    if (!eventBulkheads.submit(event.getEventType(), () -> this.handleEvent(event, message, receivedAt))) {
+      this.release();
+      shedCounter.increment();
+      eventHandlerDelegatorServiceV1.handleBusy(event, message);
+    }
+  }
+
+  /**
+   * Parse the message body straight from bytes.
+   *
+   * @param message the message
+   * @return the event, empty if the body could not be parsed
+   */
+  private Optional<Event> parseMessage(final Message message) {
+    try {
+      final var wireFormat = WireFormat.of(message);
+      final Event event = wireFormat.readEvent(message.getData());
+      if (wireFormat == WireFormat.JSON) {
+        LogHelper.logMessagingEventDetails(message.getData());
+      } else {
+        LogHelper.logBinaryMessagingEventDetails(wireFormat.getContentType(), message.getData().length, String.valueOf(event.getEventType()), String.valueOf(event.getSagaId()));
+      }
+      if (event.getPayloadVersion() == null) {
+        event.setPayloadVersion(NatsHeaders.get(message, NatsHeaders.PAYLOAD_VERSION).orElse(PAYLOAD_VERSION_V1));
+      }
+      return Optional.of(event);
+    } catch (final Exception e) {
+      log.error("Exception ", e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * The message stays pending until its reply is published, which for a paginated search is after this returns.
+   */
+  private void handleEvent(final Event event, final Message message, final long receivedAt) {
+    eventMetrics.recordQueueWait(event.getEventType(), receivedAt);
+    CompletableFuture<Void> completion = CompletableFuture.completedFuture(null);
+    try {
+      if (PAYLOAD_VERSION_V1.equalsIgnoreCase(event.getPayloadVersion())) {
+        completion = eventHandlerDelegatorServiceV1.handleEvent(event, message);
+      }
+    } catch (final Exception e) {
+      log.error("Exception ", e);
+    }
+    completion.whenComplete((result, ex) -> this.release());
+  }
 
 }
@@ -1,12 +1,12 @@
 package ca.bc.gov.educ.api.student.messaging;
 
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
+import ca.bc.gov.educ.api.student.config.ShutdownDeadline;
 import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.nats.client.Connection;
 import io.nats.client.ConnectionListener;
 import io.nats.client.Nats;
 import lombok.extern.slf4j.Slf4j;
-import org.jboss.threads.EnhancedQueueExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Component;
@@ -14,6 +14,8 @@ import org.springframework.stereotype.Component;
 import java.io.Closeable;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * The type Nats connection.
@@ -23,29 +25,31 @@ import java.time.Duration;
 public class NatsConnection implements Closeable {
 
   private final Connection natsCon;
+  private final ShutdownDeadline shutdownDeadline;
 
   /**
    * Instantiates a new Nats connection.
    *
    * @param applicationProperties the application properties
+   * @param executorFactory       the executor factory
+   * @param shutdownDeadline      the shutdown deadline
    * @throws IOException          the io exception
    * @throws InterruptedException the interrupted exception
    */
   @Autowired
-  public NatsConnection(final ApplicationProperties applicationProperties) throws IOException, InterruptedException {
-    this.natsCon = connectToNats(applicationProperties.getNatsUrl(), applicationProperties.getNatsMaxReconnect());
+  public NatsConnection(final ApplicationProperties applicationProperties, final ExecutorFactory executorFactory, final ShutdownDeadline shutdownDeadline) throws IOException, InterruptedException {
+    this.shutdownDeadline = shutdownDeadline;
+    this.natsCon = connectToNats(applicationProperties.getNatsUrl(), applicationProperties.getNatsMaxReconnect(), executorFactory);
   }
 
-  private Connection connectToNats(String stanUrl, int maxReconnects) throws IOException, InterruptedException {
+  private Connection connectToNats(String stanUrl, int maxReconnects, ExecutorFactory executorFactory) throws IOException, InterruptedException {
     io.nats.client.Options natsOptions = new io.nats.client.Options.Builder()
         .connectionListener(this::connectionListener)
         .maxPingsOut(5)
         .pingInterval(Duration.ofSeconds(2))
         .connectionName("STUDENT-API")
         .connectionTimeout(Duration.ofSeconds(5))
-        .executor(new EnhancedQueueExecutor.Builder()
-            .setThreadFactory(new ThreadFactoryBuilder().setNameFormat("core-nats-%d").build())
-            .setCorePoolSize(10).setMaximumPoolSize(50).setKeepAliveTime(Duration.ofSeconds(60)).build())
+        .executor(executorFactory.newExecutor("core-nats-%d", 10, 50))
         .maxReconnects(maxReconnects)
         .reconnectWait(Duration.ofSeconds(2))
         .servers(new String[]{stanUrl})
@@ -58,10 +62,28 @@ public class NatsConnection implements Closeable {
   }
 
 
+  /**
+   * Drains the connection before closing it, remaining subscriptions are unsubscribed and pending outgoing messages are flushed.
+   * The subscriber and publisher beans depend on this connection, so they already waited for their in flight work by now, the drain
+   * gets what is left of the shutdown deadline.
+   */
   @Override
   public void close() {
     if (natsCon != null) {
-      log.info("closing nats connection...");
+      final Duration drainTimeout = shutdownDeadline.remaining();
+      log.info("draining nats connection for up to {}...", drainTimeout);
+      try {
+        if (drainTimeout.isZero()) {
+          log.warn("shutdown deadline passed, closing the nats connection without draining it");
+        } else if (!Boolean.TRUE.equals(natsCon.drain(drainTimeout).get())) {
+          log.warn("nats connection did not drain within {}", drainTimeout);
+        }
+      } catch (InterruptedException e) {
+        log.error("error while draining nats connection...", e);
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException | TimeoutException | IllegalStateException e) {
+        log.error("error while draining nats connection...", e);
+      }
       try {
         natsCon.close();
       } catch (InterruptedException e) {
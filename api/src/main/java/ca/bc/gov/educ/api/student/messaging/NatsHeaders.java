@@ -0,0 +1,92 @@
+package ca.bc.gov.educ.api.student.messaging;
+
+import ca.bc.gov.educ.api.student.constant.EventType;
+import io.nats.client.Message;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The optional NATS headers a producer can set so that messages are routed without parsing the body.
+ * The values mirror the matching fields of {@link ca.bc.gov.educ.api.student.struct.v1.Event}.
+ */
+@Slf4j
+public final class NatsHeaders {
+  /**
+   * The event type header.
+   */
+  public static final String EVENT_TYPE = "eventType";
+  /**
+   * The payload version header.
+   */
+  public static final String PAYLOAD_VERSION = "payloadVersion";
+  /**
+   * The saga id header.
+   */
+  public static final String SAGA_ID = "sagaId";
+  /**
+   * The header a requester sets to receive a large GET_STUDENTS response in chunks of at most this many students.
+   */
+  public static final String CHUNK_SIZE = "chunkSize";
+  /**
+   * The zero based index of the chunk, set on chunked responses.
+   */
+  public static final String CHUNK_INDEX = "chunkIndex";
+  /**
+   * The total number of chunks, set on chunked responses.
+   */
+  public static final String CHUNK_COUNT = "chunkCount";
+
+  private NatsHeaders() {
+  }
+
+  /**
+   * Gets the first value of the header.
+   *
+   * @param message the message
+   * @param header  the header name
+   * @return the optional header value
+   */
+  public static Optional<String> get(final Message message, final String header) {
+    if (message == null || !message.hasHeaders()) {
+      return Optional.empty();
+    }
+    final List<String> values = message.getHeaders().get(header);
+    return values == null || values.isEmpty() ? Optional.empty() : Optional.ofNullable(values.get(0));
+  }
+
+  /**
+   * Gets the chunk size asked for by the requester.
+   *
+   * @param message the message
+   * @return the chunk size, zero if the header is missing or not a positive number
+   */
+  public static int getChunkSize(final Message message) {
+    return get(message, CHUNK_SIZE).map(chunkSize -> {
+      try {
+        return Math.max(Integer.parseInt(chunkSize.trim()), 0);
+      } catch (final NumberFormatException e) {
+        log.debug("invalid chunk size in header :: {}", chunkSize);
+        return 0;
+      }
+    }).orElse(0);
+  }
+
+  /**
+   * Gets the event type from the header, empty if the header is missing or not a known event type.
+   *
+   * @param message the message
+   * @return the optional event type
+   */
+  public static Optional<EventType> getEventType(final Message message) {
+    return get(message, EVENT_TYPE).flatMap(eventType -> {
+      try {
+        return Optional.of(EventType.valueOf(eventType));
+      } catch (final IllegalArgumentException e) {
+        log.debug("unknown event type in header :: {}", eventType);
+        return Optional.empty();
+      }
+    });
+  }
+}
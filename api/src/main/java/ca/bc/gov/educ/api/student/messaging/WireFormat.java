@@ -0,0 +1,136 @@
+package ca.bc.gov.educ.api.student.messaging;
+
+import ca.bc.gov.educ.api.student.struct.v1.Event;
+import ca.bc.gov.educ.api.student.util.JsonUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.nats.client.Message;
+import io.nats.client.impl.Headers;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The wire formats a NATS producer can opt into through the {@link #CONTENT_TYPE_HEADER} header.
+ * Messages without the header are json, so existing producers and consumers are not affected.
+ * Incoming saga events are read in the format they were sent in, replies to them are always json: the eventPayload of a reply is the
+ * json string built by the handlers, so a binary envelope around it would not make the reply smaller, only cost a conversion.
+ */
+public enum WireFormat {
+  /**
+   * Json wire format, the default.
+   */
+  JSON("application/json", JsonUtil.mapper),
+  /**
+   * Jackson smile binary wire format.
+   */
+  SMILE("application/x-jackson-smile", new SmileMapper()),
+  /**
+   * Cbor binary wire format.
+   */
+  CBOR("application/cbor", new CBORMapper());
+
+  /**
+   * The NATS header carrying the content type of the message body.
+   */
+  public static final String CONTENT_TYPE_HEADER = "Content-Type";
+
+  private final String contentType;
+  private final ObjectMapper mapper;
+  private final ObjectReader eventReader;
+
+  WireFormat(final String contentType, final ObjectMapper mapper) {
+    this.contentType = contentType;
+    this.mapper = mapper;
+    this.eventReader = mapper.readerFor(Event.class);
+  }
+
+  /**
+   * Gets content type.
+   *
+   * @return the content type
+   */
+  public String getContentType() {
+    return this.contentType;
+  }
+
+  /**
+   * Find the wire format of the message from its headers.
+   *
+   * @param message the message
+   * @return the wire format, json if the header is missing or unknown
+   */
+  public static WireFormat of(final Message message) {
+    if (message == null || !message.hasHeaders()) {
+      return JSON;
+    }
+    final List<String> contentTypes = message.getHeaders().get(CONTENT_TYPE_HEADER);
+    return fromContentType(contentTypes == null || contentTypes.isEmpty() ? null : contentTypes.get(0));
+  }
+
+  /**
+   * Find the wire format for a content type.
+   *
+   * @param contentType the content type
+   * @return the wire format, json if the content type is unknown
+   */
+  public static WireFormat fromContentType(final String contentType) {
+    if (contentType != null) {
+      for (final WireFormat wireFormat : values()) {
+        if (wireFormat.contentType.equalsIgnoreCase(contentType.trim())) {
+          return wireFormat;
+        }
+      }
+    }
+    return JSON;
+  }
+
+  /**
+   * Headers to send along with a message body in this format, json bodies are sent without headers.
+   *
+   * @return the headers or null for json
+   */
+  public Headers toHeaders() {
+    if (this == JSON) {
+      return null;
+    }
+    return new Headers().put(CONTENT_TYPE_HEADER, this.contentType);
+  }
+
+  /**
+   * Read the message body.
+   *
+   * @param <T>     the type parameter
+   * @param clazz   the clazz
+   * @param payload the payload
+   * @return the object
+   * @throws IOException the io exception
+   */
+  public <T> T read(final Class<T> clazz, final byte[] payload) throws IOException {
+    return this.mapper.readValue(payload, clazz);
+  }
+
+  /**
+   * Read an event message body with the reader resolved up front.
+   *
+   * @param payload the payload
+   * @return the event
+   * @throws IOException the io exception
+   */
+  public Event readEvent(final byte[] payload) throws IOException {
+    return this.eventReader.readValue(payload);
+  }
+
+  /**
+   * Write the message body.
+   *
+   * @param payload the payload
+   * @return the byte [ ]
+   * @throws IOException the io exception
+   */
+  public byte[] write(final Object payload) throws IOException {
+    return this.mapper.writeValueAsBytes(payload);
+  }
+}
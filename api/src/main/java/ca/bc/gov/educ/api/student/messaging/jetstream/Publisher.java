@@ -1,21 +1,28 @@
 package ca.bc.gov.educ.api.student.messaging.jetstream;
 
+import ca.bc.gov.educ.api.student.config.ShutdownDeadline;
 import ca.bc.gov.educ.api.student.constant.EventOutcome;
 import ca.bc.gov.educ.api.student.constant.EventType;
+import ca.bc.gov.educ.api.student.messaging.WireFormat;
 import ca.bc.gov.educ.api.student.model.v1.StudentEvent;
 import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
 import ca.bc.gov.educ.api.student.struct.v1.ChoreographedEvent;
-import ca.bc.gov.educ.api.student.util.JsonUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.nats.client.Connection;
 import io.nats.client.JetStream;
 import io.nats.client.JetStreamApiException;
 import io.nats.client.api.StreamConfiguration;
+import io.nats.client.impl.NatsMessage;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static ca.bc.gov.educ.api.student.constant.Topics.STUDENT_EVENTS_TOPIC;
 
@@ -25,18 +32,34 @@ import static ca.bc.gov.educ.api.student.constant.Topics.STUDENT_EVENTS_TOPIC;
 @Component("publisher")
 @Slf4j
 public class Publisher {
+  private static final long DRAIN_POLL_MILLIS = 50;
   private final JetStream jetStream;
+  private final WireFormat wireFormat;
+  private final ShutdownDeadline shutdownDeadline;
+  private final AtomicInteger pendingAcks = new AtomicInteger();
+  private final Timer ackTimer;
+  private final Timer ackFailedTimer;
 
   /**
    * Instantiates a new Publisher.
    *
-   * @param natsConnection the nats connection
+   * @param natsConnection        the nats connection
+   * @param applicationProperties the application properties
+   * @param meterRegistry         the meter registry
+   * @param shutdownDeadline      the shutdown deadline
    * @throws IOException           the io exception
    * @throws JetStreamApiException the jet stream api exception
    */
   @Autowired
-  public Publisher(final Connection natsConnection) throws IOException, JetStreamApiException {
+  public Publisher(final Connection natsConnection, final ApplicationProperties applicationProperties, final MeterRegistry meterRegistry,
+                   final ShutdownDeadline shutdownDeadline) throws IOException, JetStreamApiException {
     this.jetStream = natsConnection.jetStream();
+    this.wireFormat = applicationProperties.getChoreographyWireFormat();
+    this.shutdownDeadline = shutdownDeadline;
+    this.ackTimer = Timer.builder("student.outbox.publish.ack").tag("result", "acked")
+        .description("time from publishing an event to jet stream to its ack").register(meterRegistry);
+    this.ackFailedTimer = Timer.builder("student.outbox.publish.ack").tag("result", "failed")
+        .description("time from publishing an event to jet stream to its ack").register(meterRegistry);
     this.createOrUpdateStudentEventStream(natsConnection);
   }
 
@@ -69,20 +92,70 @@ public class Publisher {
    */
   public void dispatchChoreographyEvent(final StudentEvent event) {
     if (event != null && event.getEventId() != null) {
-      val choreographedEvent = new ChoreographedEvent();
-      choreographedEvent.setEventType(EventType.valueOf(event.getEventType()));
-      choreographedEvent.setEventOutcome(EventOutcome.valueOf(event.getEventOutcome()));
-      choreographedEvent.setEventPayload(event.getEventPayload());
-      choreographedEvent.setEventID(event.getEventId().toString());
-      choreographedEvent.setCreateUser(event.getCreateUser());
-      choreographedEvent.setUpdateUser(event.getUpdateUser());
+      val choreographedEvent = toChoreographedEvent(event);
       try {
         log.info("Broadcasting event :: {}", choreographedEvent);
-        val pub = this.jetStream.publishAsync(STUDENT_EVENTS_TOPIC.toString(), JsonUtil.getJsonBytesFromObject(choreographedEvent));
+        val message = NatsMessage.builder()
+            .subject(STUDENT_EVENTS_TOPIC.toString())
+            .headers(this.wireFormat.toHeaders())
+            .data(this.wireFormat.write(choreographedEvent))
+            .build();
+        this.pendingAcks.incrementAndGet();
+        final long publishedAt = System.nanoTime();
+        val pub = this.jetStream.publishAsync(message);
+        pub.whenComplete((result, throwable) -> {
+          this.pendingAcks.decrementAndGet();
+          (throwable == null ? this.ackTimer : this.ackFailedTimer).record(System.nanoTime() - publishedAt, TimeUnit.NANOSECONDS);
+        });
         pub.thenAcceptAsync(result -> log.info("Event ID :: {} Published to JetStream :: {}", event.getEventId(), result.getSeqno()));
       } catch (IOException e) {
         log.error("exception while broadcasting message to JetStream", e);
       }
     }
   }
+
+  /**
+   * Gets the number of events published to jet stream and not yet acknowledged.
+   *
+   * @return the pending ack count
+   */
+  public int getPendingAckCount() {
+    return this.pendingAcks.get();
+  }
+
+  /**
+   * Wait, up to the shutdown deadline, for the pending jet stream acks before the nats connection is closed.
+   */
+  @PreDestroy
+  public void awaitPendingAcks() {
+    log.info("waiting for {} pending jet stream acks", this.pendingAcks.get());
+    while (this.pendingAcks.get() > 0 && !this.shutdownDeadline.isPassed()) {
+      try {
+        Thread.sleep(DRAIN_POLL_MILLIS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    if (this.pendingAcks.get() > 0) {
+      log.warn("{} jet stream acks still pending at the shutdown deadline, the outbox scheduler will publish those events again.", this.pendingAcks.get());
+    }
+  }
+
+  /**
+   * The choreographed event broadcast for the outbox event.
+   *
+   * @param event the outbox event
+   * @return the choreographed event
+   */
+  public static ChoreographedEvent toChoreographedEvent(final StudentEvent event) {
+    val choreographedEvent = new ChoreographedEvent();
+    choreographedEvent.setEventType(EventType.valueOf(event.getEventType()));
+    choreographedEvent.setEventOutcome(EventOutcome.valueOf(event.getEventOutcome()));
+    choreographedEvent.setEventPayload(event.getEventPayload());
+    choreographedEvent.setEventID(event.getEventId().toString());
+    choreographedEvent.setCreateUser(event.getCreateUser());
+    choreographedEvent.setUpdateUser(event.getUpdateUser());
+    return choreographedEvent;
+  }
 }
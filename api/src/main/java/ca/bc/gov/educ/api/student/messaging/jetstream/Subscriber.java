@@ -1,15 +1,20 @@
 package ca.bc.gov.educ.api.student.messaging.jetstream;
 
 import ca.bc.gov.educ.api.student.helpers.LogHelper;
+import ca.bc.gov.educ.api.student.messaging.WireFormat;
 import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
 import ca.bc.gov.educ.api.student.service.v1.JetStreamEventHandlerService;
+import ca.bc.gov.educ.api.student.service.v1.StudentCacheService;
 import ca.bc.gov.educ.api.student.struct.v1.ChoreographedEvent;
 import ca.bc.gov.educ.api.student.struct.v1.Event;
 import ca.bc.gov.educ.api.student.util.JsonUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.nats.client.Connection;
 import io.nats.client.JetStreamApiException;
 import io.nats.client.Message;
 import io.nats.client.PushSubscribeOptions;
+import io.nats.client.api.AckPolicy;
 import io.nats.client.api.ConsumerConfiguration;
 import io.nats.client.api.DeliverPolicy;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +25,8 @@ import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
 
 import static ca.bc.gov.educ.api.student.constant.Topics.STUDENT_EVENTS_TOPIC;
 
@@ -31,18 +38,26 @@ import static ca.bc.gov.educ.api.student.constant.Topics.STUDENT_EVENTS_TOPIC;
 @Slf4j
 public class Subscriber {
   private final JetStreamEventHandlerService jetStreamEventHandlerService;
+  private final StudentCacheService studentCacheService;
   private final Connection natsConnection;
+  private final Timer statusUpdateLagTimer;
 
   /**
    * Instantiates a new Subscriber.
    *
    * @param natsConnection          the nats connection
    * @param jetStreamEventHandlerService the stan event handler service
+   * @param studentCacheService     the student cache service
+   * @param meterRegistry           the meter registry
    */
   @Autowired
-  public Subscriber(final Connection natsConnection, final JetStreamEventHandlerService jetStreamEventHandlerService) {
+  public Subscriber(final Connection natsConnection, final JetStreamEventHandlerService jetStreamEventHandlerService, final StudentCacheService studentCacheService,
+                    final MeterRegistry meterRegistry) {
     this.jetStreamEventHandlerService = jetStreamEventHandlerService;
+    this.studentCacheService = studentCacheService;
     this.natsConnection = natsConnection;
+    this.statusUpdateLagTimer = Timer.builder("student.outbox.status.update.lag")
+        .description("time from jet stream storing an event to the outbox row being marked as published").register(meterRegistry);
   }
 
 
@@ -61,6 +76,24 @@ public class Subscriber {
         .configuration(ConsumerConfiguration.builder().deliverPolicy(DeliverPolicy.New).build()).build();
     this.natsConnection.jetStream().subscribe(STUDENT_EVENTS_TOPIC.toString(), qName, this.natsConnection.createDispatcher(), this::onStudentEventsTopicMessage,
         autoAck, options);
+    // every node needs every student event to evict its own cache, so this one is an ephemeral consumer outside the queue group.
+    PushSubscribeOptions cacheEvictionOptions = PushSubscribeOptions.builder().stream(ApplicationProperties.STREAM_NAME)
+        .configuration(ConsumerConfiguration.builder().deliverPolicy(DeliverPolicy.New).ackPolicy(AckPolicy.None).build()).build();
+    this.natsConnection.jetStream().subscribe(STUDENT_EVENTS_TOPIC.toString(), this.natsConnection.createDispatcher(), this::onStudentEventForCacheEviction,
+        false, cacheEvictionOptions);
+  }
+
+  /**
+   * Evict the students of the event from the node local student cache.
+   *
+   * @param message the message
+   */
+  public void onStudentEventForCacheEviction(final Message message) {
+    try {
+      this.studentCacheService.evict(WireFormat.of(message).read(ChoreographedEvent.class, message.getData()));
+    } catch (final Exception ex) {
+      log.error("Exception while evicting students of the event from the cache", ex);
+    }
   }
 
   /**
@@ -73,10 +106,18 @@ public class Subscriber {
   public void onStudentEventsTopicMessage(final Message message) {
     log.info("Received message Subject:: {} , SID :: {} , sequence :: {}, pending :: {} ", message.getSubject(), message.getSID(), message.metaData().consumerSequence(), message.metaData().pendingCount());
     try {
-      val eventString = new String(message.getData());
-      LogHelper.logMessagingEventDetails(eventString);
-      ChoreographedEvent event = JsonUtil.getJsonObjectFromString(ChoreographedEvent.class, eventString);
+      val wireFormat = WireFormat.of(message);
+      final ChoreographedEvent event;
+      if (wireFormat == WireFormat.JSON) {
+        val eventString = new String(message.getData());
+        LogHelper.logMessagingEventDetails(eventString);
+        event = JsonUtil.getJsonObjectFromString(ChoreographedEvent.class, eventString);
+      } else {
+        event = wireFormat.read(ChoreographedEvent.class, message.getData());
+        LogHelper.logBinaryMessagingEventDetails(wireFormat.getContentType(), message.getData().length, String.valueOf(event.getEventType()), event.getEventID());
+      }
       jetStreamEventHandlerService.updateEventStatus(event);
+      this.recordStatusUpdateLag(message);
       log.info("received event :: {} ", event);
       message.ack();
     } catch (final Exception ex) {
@@ -84,4 +125,15 @@ public class Subscriber {
     }
   }
 
+  /**
+   * The stream stores the event when it acks the publish, so the message timestamp is the ack time.
+   *
+   * @param message the message
+   */
+  private void recordStatusUpdateLag(final Message message) {
+    final ZonedDateTime storedAt = message.metaData().timestamp();
+    if (storedAt != null) {
+      this.statusUpdateLagTimer.record(Duration.between(storedAt, ZonedDateTime.now()));
+    }
+  }
 }
@@ -1,5 +1,6 @@
 package ca.bc.gov.educ.api.student.model.v1;
 
+import ca.bc.gov.educ.api.student.util.PayloadCompressionUtil;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -75,21 +76,21 @@ public class StudentEvent {
   private String replyChannel;
 
   /**
-   * Gets event payload.
+   * Gets event payload, decompressing it if it was stored compressed.
    *
    * @return the event payload
    */
   public String getEventPayload() {
-    return new String(getEventPayloadBytes(), StandardCharsets.UTF_8);
+    return new String(PayloadCompressionUtil.decompress(getEventPayloadBytes()), StandardCharsets.UTF_8);
   }
 
   /**
-   * Sets event payload.
+   * Sets event payload, large payloads are stored compressed.
    *
    * @param eventPayload the event payload
    */
   public void setEventPayload(String eventPayload) {
-    setEventPayloadBytes(eventPayload.getBytes(StandardCharsets.UTF_8));
+    setEventPayloadBytes(PayloadCompressionUtil.compress(eventPayload.getBytes(StandardCharsets.UTF_8)));
   }
 
   /**
@@ -108,7 +109,7 @@ public class StudentEvent {
      * @return the student event . student event builder
      */
     public StudentEvent.StudentEventBuilder eventPayload(String eventPayload) {
-      this.eventPayloadBytes = eventPayload.getBytes(StandardCharsets.UTF_8);
+      this.eventPayloadBytes = PayloadCompressionUtil.compress(eventPayload.getBytes(StandardCharsets.UTF_8));
       return this;
     }
   }
@@ -0,0 +1,53 @@
+package ca.bc.gov.educ.api.student.model.v1;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * The version of a student row, the id and a hash over the update date and the content of the row.
+ * The dates are truncated to the second, the precision of an oracle DATE, so an entity still holding the nanoseconds it was saved with
+ * has the same version as the row read back. Two updates within the same second only share a version if they wrote the same content.
+ *
+ * @param studentID   the student id
+ * @param contentHash the hash of the update date and the content
+ */
+public record StudentVersion(UUID studentID, String contentHash) {
+
+  /**
+   * Of student version.
+   *
+   * @param studentEntity the student entity
+   * @return the student version
+   */
+  public static StudentVersion of(final StudentEntity studentEntity) {
+    final Hasher hasher = Hashing.murmur3_128().newHasher();
+    for (final Object value : new Object[]{toSeconds(studentEntity.getUpdateDate()), studentEntity.getUpdateUser(), studentEntity.getPen(),
+        studentEntity.getLegalFirstName(), studentEntity.getLegalMiddleNames(), studentEntity.getLegalLastName(), studentEntity.getDob(),
+        studentEntity.getSexCode(), studentEntity.getGenderCode(), studentEntity.getUsualFirstName(), studentEntity.getUsualMiddleNames(),
+        studentEntity.getUsualLastName(), studentEntity.getEmail(), studentEntity.getEmailVerified(), studentEntity.getDeceasedDate(),
+        studentEntity.getPostalCode(), studentEntity.getMincode(), studentEntity.getLocalID(), studentEntity.getGradeCode(), studentEntity.getMemo(),
+        studentEntity.getGradeYear(), studentEntity.getDemogCode(), studentEntity.getTrueStudentID(), studentEntity.getStatusCode(),
+        studentEntity.getDocumentTypeCode(), toSeconds(studentEntity.getDateOfConfirmation())}) {
+      hasher.putString(String.valueOf(value), StandardCharsets.UTF_8).putByte((byte) 0);
+    }
+    return new StudentVersion(studentEntity.getStudentID(), hasher.hash().toString());
+  }
+
+  private static LocalDateTime toSeconds(final LocalDateTime dateTime) {
+    return dateTime == null ? null : dateTime.truncatedTo(ChronoUnit.SECONDS);
+  }
+
+  /**
+   * The strong ETag of the student, it changes with every update of the row which changes its content.
+   *
+   * @return the ETag, quoted
+   */
+  public String eTag() {
+    return "\"" + this.studentID + "-" + this.contentHash + "\"";
+  }
+}
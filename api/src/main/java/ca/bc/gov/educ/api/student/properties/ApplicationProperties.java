@@ -1,5 +1,8 @@
 package ca.bc.gov.educ.api.student.properties;
 
+import ca.bc.gov.educ.api.student.constant.EventPriority;
+import ca.bc.gov.educ.api.student.messaging.MessageSubscriber;
+import ca.bc.gov.educ.api.student.messaging.WireFormat;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -28,4 +31,207 @@ public class ApplicationProperties {
 
   @Value("${nats.maxReconnect}")
   Integer natsMaxReconnect;
+
+  /**
+   * The wire format of the choreographed events published to jet stream, JSON unless every consumer understands the binary format.
+   */
+  @Value("${nats.choreography.wire.format}")
+  WireFormat choreographyWireFormat;
+
+  /**
+   * The hikari pool size, the JDBC executors of the nats event handling are sized to stay within it. Defaults to the hikari default.
+   */
+  @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+  Integer hikariMaximumPoolSize;
+
+  /**
+   * The number of worker threads shared by the event type bulkheads, queued events get a worker in priority order.
+   */
+  @Value("${nats.event.worker.threads}")
+  Integer natsEventWorkerThreads;
+
+  /**
+   * The max number of running events of each high priority event type.
+   */
+  @Value("${nats.bulkhead.high.concurrency}")
+  Integer bulkheadHighConcurrency;
+
+  /**
+   * The queue size of each high priority event type bulkhead.
+   */
+  @Value("${nats.bulkhead.high.queue.size}")
+  Integer bulkheadHighQueueSize;
+
+  /**
+   * The max number of running events of each normal priority event type.
+   */
+  @Value("${nats.bulkhead.normal.concurrency}")
+  Integer bulkheadNormalConcurrency;
+
+  /**
+   * The queue size of each normal priority event type bulkhead.
+   */
+  @Value("${nats.bulkhead.normal.queue.size}")
+  Integer bulkheadNormalQueueSize;
+
+  /**
+   * The max number of running events of each low priority event type.
+   */
+  @Value("${nats.bulkhead.low.concurrency}")
+  Integer bulkheadLowConcurrency;
+
+  /**
+   * The queue size of each low priority event type bulkhead.
+   */
+  @Value("${nats.bulkhead.low.queue.size}")
+  Integer bulkheadLowQueueSize;
+
+  /**
+   * The number of pending NATS messages after which the intake is overloaded.
+   */
+  @Value("${nats.intake.high.water.mark}")
+  Integer natsIntakeHighWaterMark;
+
+  /**
+   * Whether an overloaded intake answers busy or pauses the subscription.
+   */
+  @Value("${nats.intake.overload.strategy}")
+  MessageSubscriber.OverloadStrategy natsIntakeOverloadStrategy;
+
+  /**
+   * The max number of busy replies of shed messages waiting to be sent, the shed messages over it get no reply.
+   */
+  @Value("${nats.intake.busy.reply.max.pending}")
+  Integer natsIntakeBusyReplyMaxPending;
+
+  /**
+   * How long the shutdown may take from the moment the context starts closing, for the web requests, the in flight messages, the jet stream
+   * acks, the nats connection drain and the executors together. Keep it under the termination grace period of the pod.
+   */
+  @Value("${shutdown.timeout.seconds}")
+  Integer shutdownTimeoutSeconds;
+
+  /**
+   * The max number of saga responses kept in the node local replay cache.
+   */
+  @Value("${saga.replay.cache.max.size}")
+  Long sagaReplayCacheMaxSize;
+
+  /**
+   * How long a saga response is kept in the node local replay cache.
+   */
+  @Value("${saga.replay.cache.ttl.minutes}")
+  Long sagaReplayCacheTtlMinutes;
+
+  /**
+   * Whether concurrent student lookups by PEN are batched into one query.
+   */
+  @Value("${student.pen.batch.lookup.enabled}")
+  Boolean penBatchLookupEnabled;
+
+  /**
+   * How long a PEN lookup waits for others to join its batch.
+   */
+  @Value("${student.pen.batch.lookup.window.millis}")
+  Long penBatchLookupWindowMillis;
+
+  /**
+   * The max number of PEN lookups in one batch, the batch is resolved right away once full. Keep it under the 1000 element IN list limit of oracle.
+   */
+  @Value("${student.pen.batch.lookup.max.size}")
+  Integer penBatchLookupMaxSize;
+
+  /**
+   * How long a batched PEN lookup waits for its batch to be resolved before failing.
+   */
+  @Value("${student.pen.batch.lookup.timeout.millis}")
+  Long penBatchLookupTimeoutMillis;
+
+  /**
+   * The max number of student id partitions of one GET_STUDENTS event queried at the same time.
+   */
+  @Value("${student.partition.query.parallelism}")
+  Integer studentPartitionQueryParallelism;
+
+  /**
+   * The max number of students kept in the node local student cache, zero disables the cache.
+   */
+  @Value("${student.entity.cache.max.size}")
+  Long studentCacheMaxSize;
+
+  /**
+   * How long a student is kept in the node local student cache, bounds the staleness if an eviction is missed.
+   */
+  @Value("${student.entity.cache.ttl.seconds}")
+  Long studentCacheTtlSeconds;
+
+  /**
+   * How long clients may reuse a code table response before revalidating it with its ETag.
+   */
+  @Value("${code.table.cache.max.age.seconds}")
+  Long codeTableMaxAgeSeconds;
+
+  /**
+   * The max length of the http and messaging payloads written to the log, longer payloads are cut.
+   */
+  @Value("${log.payload.max.length}")
+  Integer logPayloadMaxLength;
+
+  /**
+   * The outbox backlog above which the outbox health is reported as degraded.
+   */
+  @Value("${outbox.degraded.backlog}")
+  Long outboxDegradedBacklog;
+
+  /**
+   * The age in seconds of the oldest unpublished event above which the outbox health is reported as degraded.
+   */
+  @Value("${outbox.degraded.age.seconds}")
+  Long outboxDegradedAgeSeconds;
+
+  /**
+   * Searches whose query takes longer than this are logged as slow.
+   */
+  @Value("${search.slow.threshold.millis}")
+  Long searchSlowThresholdMillis;
+
+  /**
+   * The max number of search timers, one per search, shape and outcome, the searches of the other shapes share one timer.
+   */
+  @Value("${search.metrics.max.shapes}")
+  Integer searchMetricsMaxShapes;
+
+  /**
+   * Gets the bulkhead concurrency for the priority.
+   *
+   * @param priority the priority
+   * @return the bulkhead concurrency
+   */
+  public int getBulkheadConcurrency(final EventPriority priority) {
+    switch (priority) {
+      case HIGH:
+        return this.bulkheadHighConcurrency;
+      case LOW:
+        return this.bulkheadLowConcurrency;
+      default:
+        return this.bulkheadNormalConcurrency;
+    }
+  }
+
+  /**
+   * Gets the bulkhead queue size for the priority.
+   *
+   * @param priority the priority
+   * @return the bulkhead queue size
+   */
+  public int getBulkheadQueueSize(final EventPriority priority) {
+    switch (priority) {
+      case HIGH:
+        return this.bulkheadHighQueueSize;
+      case LOW:
+        return this.bulkheadLowQueueSize;
+      default:
+        return this.bulkheadNormalQueueSize;
+    }
+  }
 }
@@ -1,9 +1,22 @@
 package ca.bc.gov.educ.api.student.repository.v1;
 
 import ca.bc.gov.educ.api.student.model.v1.DocumentTypeCodeEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface DocumentTypeCodeRepository extends JpaRepository<DocumentTypeCodeEntity, String> {
+  /**
+   * Find all codes, the result is kept in the query cache.
+   *
+   * @return the codes
+   */
+  @Override
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+  List<DocumentTypeCodeEntity> findAll();
 }
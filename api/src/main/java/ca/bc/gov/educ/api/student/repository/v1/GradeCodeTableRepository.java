@@ -1,6 +1,9 @@
 package ca.bc.gov.educ.api.student.repository.v1;
 
 import ca.bc.gov.educ.api.student.model.v1.GradeCodeEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,5 +16,12 @@ import java.util.List;
  */
 @Repository
 public interface GradeCodeTableRepository extends CrudRepository<GradeCodeEntity, Long> {
-    List<GradeCodeEntity> findAll();
+  /**
+   * Find all codes, the result is kept in the query cache.
+   *
+   * @return the codes
+   */
+  @Override
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+  List<GradeCodeEntity> findAll();
 }
@@ -40,6 +40,23 @@ public interface StudentEventRepository extends JpaRepository<StudentEvent, UUID
    */
   List<StudentEvent> findByEventStatus(String eventStatus);
 
+  /**
+   * Count by event status long.
+   *
+   * @param eventStatus the event status
+   * @return the count
+   */
+  long countByEventStatus(String eventStatus);
+
+  /**
+   * Find the create date of the oldest event with the status.
+   *
+   * @param eventStatus the event status
+   * @return the oldest create date, empty if there is no event with the status
+   */
+  @Query("select min(e.createDate) from StudentEvent e where e.eventStatus = :eventStatus")
+  Optional<LocalDateTime> findOldestCreateDateByEventStatus(String eventStatus);
+
   @Transactional
   @Modifying
   @Query("delete from StudentEvent where createDate <= :createDate")
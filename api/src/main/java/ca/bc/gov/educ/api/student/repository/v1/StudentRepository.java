@@ -28,4 +28,6 @@ public interface StudentRepository extends JpaRepository<StudentEntity, UUID>, J
    */
   List<StudentEntity> findStudentEntityByStudentIDIn(List<UUID> studentID);
 
+  List<StudentEntity> findStudentEntityByPenIn(List<String> pens);
+
 }
@@ -142,7 +142,15 @@ public class StudentHistoryRepositoryCustomImpl implements StudentHistoryReposit
     return orderByBuilder.toString();
   }
 
-  private String buildWhereClauseBasedOnSearchCriteria(final List<Search> searches, final Map<String, Object> parameterMap) {
+  /**
+   * Build the where clause of the searches on the student history, the bind values are put in the parameter map.
+   * It is package private for the where clause benchmark.
+   *
+   * @param searches     the search criteria.
+   * @param parameterMap the parameter map the bind values are put in
+   * @return the where clause
+   */
+  String buildWhereClauseBasedOnSearchCriteria(final List<Search> searches, final Map<String, Object> parameterMap) {
     final StringBuilder whereClause = new StringBuilder();
     int index = 0;
     for (val search : searches) {
@@ -0,0 +1,48 @@
+package ca.bc.gov.educ.api.student.schedulers;
+
+import ca.bc.gov.educ.api.student.model.v1.*;
+import ca.bc.gov.educ.api.student.service.v1.CodeTableService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Reloads the in memory code tables, every node holds its own copy so the job is not locked.
+ * The code entities and their findAll queries are also in the hibernate second level cache, which only sees writes made through
+ * hibernate, so it is cleared first to pick up codes changed directly in the DB.
+ */
+@Component
+@Slf4j
+public class CodeTableRefreshScheduler {
+  private static final List<Class<?>> CODE_ENTITIES = List.of(GenderCodeEntity.class, SexCodeEntity.class, DemogCodeEntity.class, GradeCodeEntity.class,
+      StatusCodeEntity.class, StudentHistoryActivityCodeEntity.class, DocumentTypeCodeEntity.class);
+
+  @Getter(PRIVATE)
+  private final CodeTableService codeTableService;
+
+  @Getter(PRIVATE)
+  private final EntityManagerFactory entityManagerFactory;
+
+  public CodeTableRefreshScheduler(final CodeTableService codeTableService, final EntityManagerFactory entityManagerFactory) {
+    this.codeTableService = codeTableService;
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  /**
+   * run the job based on configured scheduler(a cron expression) and reload the code tables from DB.
+   */
+  @Scheduled(cron = "${scheduled.jobs.refresh.code.tables.cron}")
+  public void refreshCodeTables() {
+    CODE_ENTITIES.forEach(this.getEntityManagerFactory().getCache()::evict);
+    this.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+    this.getCodeTableService().refresh();
+    log.info("Refreshed code tables");
+  }
+}
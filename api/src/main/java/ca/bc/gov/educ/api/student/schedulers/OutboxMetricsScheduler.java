@@ -0,0 +1,30 @@
+package ca.bc.gov.educ.api.student.schedulers;
+
+import ca.bc.gov.educ.api.student.service.v1.OutboxMetricsService;
+import lombok.Getter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Samples the outbox for the backlog metrics, every node reports its own view so the job is not locked.
+ */
+@Component
+public class OutboxMetricsScheduler {
+
+  @Getter(PRIVATE)
+  private final OutboxMetricsService outboxMetricsService;
+
+  public OutboxMetricsScheduler(final OutboxMetricsService outboxMetricsService) {
+    this.outboxMetricsService = outboxMetricsService;
+  }
+
+  /**
+   * run the job based on configured scheduler(a cron expression) and sample the outbox.
+   */
+  @Scheduled(cron = "${scheduled.jobs.sample.outbox.cron}")
+  public void sampleOutbox() {
+    this.getOutboxMetricsService().refresh();
+  }
+}
@@ -0,0 +1,236 @@
+package ca.bc.gov.educ.api.student.service.v1;
+
+import ca.bc.gov.educ.api.student.exception.StudentRuntimeException;
+import ca.bc.gov.educ.api.student.mappers.v1.StudentHistoryMapper;
+import ca.bc.gov.educ.api.student.mappers.v1.StudentMapper;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the code tables as pre rendered JSON, with a gzip variant and a strong ETag from a hash of the content.
+ * A table is rendered again only when {@link CodeTableService} hands out a new snapshot, so a refresh of the code tables is picked up
+ * on the next request and every other request just writes the cached bytes. Conditional requests are answered with 304 by Spring MVC,
+ * which compares the If-None-Match header of the request with the ETag of the returned {@link ResponseEntity}.
+ */
+@Service
+@Slf4j
+public class CodeTableResponseService {
+  private static final String GZIP = "gzip";
+  private static final int ETAG_HASH_BYTES = 16;
+  private final ObjectMapper objectMapper;
+  private final CacheControl cacheControl;
+  private final RenderedTable<?, ?> genderCodes;
+  private final RenderedTable<?, ?> sexCodes;
+  private final RenderedTable<?, ?> demogCodes;
+  private final RenderedTable<?, ?> gradeCodes;
+  private final RenderedTable<?, ?> statusCodes;
+  private final RenderedTable<?, ?> documentTypeCodes;
+  private final RenderedTable<?, ?> historyActivityCodes;
+
+  /**
+   * Instantiates a new Code table response service.
+   *
+   * @param codeTableService      the code table service
+   * @param objectMapper          the object mapper of the REST responses
+   * @param applicationProperties the application properties
+   */
+  @Autowired
+  public CodeTableResponseService(final CodeTableService codeTableService, final ObjectMapper objectMapper, final ApplicationProperties applicationProperties) {
+    this.objectMapper = objectMapper;
+    this.cacheControl = CacheControl.maxAge(applicationProperties.getCodeTableMaxAgeSeconds(), TimeUnit.SECONDS).cachePrivate();
+    final StudentMapper mapper = StudentMapper.mapper;
+    this.genderCodes = new RenderedTable<>(codeTableService::getGenderCodesList, mapper::toStructure);
+    this.sexCodes = new RenderedTable<>(codeTableService::getSexCodesList, mapper::toStructure);
+    this.demogCodes = new RenderedTable<>(codeTableService::getDemogCodesList, mapper::toStructure);
+    this.gradeCodes = new RenderedTable<>(codeTableService::getGradeCodesList, mapper::toStructure);
+    this.statusCodes = new RenderedTable<>(codeTableService::getStatusCodesList, mapper::toStructure);
+    this.documentTypeCodes = new RenderedTable<>(codeTableService::getDocumentTypeCodes, mapper::toStructure);
+    this.historyActivityCodes = new RenderedTable<>(codeTableService::getStudentHistoryActivityCodesList, StudentHistoryMapper.mapper::toStructure);
+  }
+
+  /**
+   * Gets the gender codes response.
+   *
+   * @param acceptEncoding the accept encoding header of the request, may be null
+   * @return the response entity
+   */
+  public ResponseEntity<byte[]> getGenderCodes(final String acceptEncoding) {
+    return this.toResponseEntity(this.genderCodes.get(), acceptEncoding);
+  }
+
+  /**
+   * Gets the sex codes response.
+   *
+   * @param acceptEncoding the accept encoding header of the request, may be null
+   * @return the response entity
+   */
+  public ResponseEntity<byte[]> getSexCodes(final String acceptEncoding) {
+    return this.toResponseEntity(this.sexCodes.get(), acceptEncoding);
+  }
+
+  /**
+   * Gets the demog codes response.
+   *
+   * @param acceptEncoding the accept encoding header of the request, may be null
+   * @return the response entity
+   */
+  public ResponseEntity<byte[]> getDemogCodes(final String acceptEncoding) {
+    return this.toResponseEntity(this.demogCodes.get(), acceptEncoding);
+  }
+
+  /**
+   * Gets the grade codes response.
+   *
+   * @param acceptEncoding the accept encoding header of the request, may be null
+   * @return the response entity
+   */
+  public ResponseEntity<byte[]> getGradeCodes(final String acceptEncoding) {
+    return this.toResponseEntity(this.gradeCodes.get(), acceptEncoding);
+  }
+
+  /**
+   * Gets the status codes response.
+   *
+   * @param acceptEncoding the accept encoding header of the request, may be null
+   * @return the response entity
+   */
+  public ResponseEntity<byte[]> getStatusCodes(final String acceptEncoding) {
+    return this.toResponseEntity(this.statusCodes.get(), acceptEncoding);
+  }
+
+  /**
+   * Gets the document type codes response.
+   *
+   * @param acceptEncoding the accept encoding header of the request, may be null
+   * @return the response entity
+   */
+  public ResponseEntity<byte[]> getDocumentTypeCodes(final String acceptEncoding) {
+    return this.toResponseEntity(this.documentTypeCodes.get(), acceptEncoding);
+  }
+
+  /**
+   * Gets the student history activity codes response.
+   *
+   * @param acceptEncoding the accept encoding header of the request, may be null
+   * @return the response entity
+   */
+  public ResponseEntity<byte[]> getStudentHistoryActivityCodes(final String acceptEncoding) {
+    return this.toResponseEntity(this.historyActivityCodes.get(), acceptEncoding);
+  }
+
+  private ResponseEntity<byte[]> toResponseEntity(final Rendering rendering, final String acceptEncoding) {
+    final ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).cacheControl(this.cacheControl).varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (acceptsGzip(acceptEncoding)) {
+      return builder.eTag(rendering.gzipETag()).header(HttpHeaders.CONTENT_ENCODING, GZIP).body(rendering.gzip());
+    }
+    return builder.eTag(rendering.eTag()).body(rendering.json());
+  }
+
+  /**
+   * Accepts gzip boolean.
+   *
+   * @param acceptEncoding the accept encoding header, may be null
+   * @return true if gzip is listed without a zero quality
+   */
+  static boolean acceptsGzip(final String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    return Arrays.stream(acceptEncoding.split(",")).map(String::trim).anyMatch(coding -> {
+      final String[] parts = coding.split(";");
+      if (!GZIP.equalsIgnoreCase(parts[0].trim())) {
+        return false;
+      }
+      return Arrays.stream(parts).skip(1).map(String::trim).noneMatch(param -> param.replace(" ", "").matches("q=0(\\.0{0,3})?"));
+    });
+  }
+
+  private Rendering render(final List<?> structures) {
+    try {
+      final byte[] json = this.objectMapper.writeValueAsBytes(structures);
+      final String hash = Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(MessageDigest.getInstance("SHA-256").digest(json), ETAG_HASH_BYTES));
+      return new Rendering(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-" + GZIP + "\"");
+    } catch (final JsonProcessingException | NoSuchAlgorithmException e) {
+      throw new StudentRuntimeException("Could not render the code table :: " + e.getMessage());
+    }
+  }
+
+  private static byte[] gzip(final byte[] json) {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(json.length / 4 + 32);
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+      gzipOutputStream.write(json);
+    } catch (final IOException e) {
+      throw new StudentRuntimeException("Could not compress the code table :: " + e.getMessage());
+    }
+    return outputStream.toByteArray();
+  }
+
+  /**
+   * The rendered bytes and ETags of a code table.
+   *
+   * @param json     the json
+   * @param gzip     the gzipped json
+   * @param eTag     the ETag of the json
+   * @param gzipETag the ETag of the gzipped json
+   */
+  private record Rendering(byte[] json, byte[] gzip, String eTag, String gzipETag) {
+  }
+
+  /**
+   * A code table rendered again whenever the code table service hands out a new snapshot of it.
+   *
+   * @param <E> the code entity type
+   * @param <S> the code structure type
+   */
+  private final class RenderedTable<E, S> {
+    private final Supplier<List<E>> source;
+    private final Function<E, S> toStructure;
+    private volatile RenderedSnapshot snapshot;
+
+    private RenderedTable(final Supplier<List<E>> source, final Function<E, S> toStructure) {
+      this.source = source;
+      this.toStructure = toStructure;
+    }
+
+    private Rendering get() {
+      final List<E> codes = this.source.get();
+      final RenderedSnapshot current = this.snapshot;
+      if (current != null && current.codes() == codes) {
+        return current.rendering();
+      }
+      final Rendering rendering = CodeTableResponseService.this.render(codes.stream().map(this.toStructure).toList());
+      log.debug("rendered code table of {} codes, {} bytes", codes.size(), rendering.json().length);
+      this.snapshot = new RenderedSnapshot(codes, rendering);
+      return rendering;
+    }
+  }
+
+  /**
+   * The rendering of a snapshot of a code table, the snapshot is compared by identity.
+   *
+   * @param codes     the codes
+   * @param rendering the rendering
+   */
+  private record RenderedSnapshot(List<?> codes, Rendering rendering) {
+  }
+}
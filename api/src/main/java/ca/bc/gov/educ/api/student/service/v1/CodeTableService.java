@@ -2,35 +2,39 @@ package ca.bc.gov.educ.api.student.service.v1;
 
 import ca.bc.gov.educ.api.student.model.v1.*;
 import ca.bc.gov.educ.api.student.repository.v1.*;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * The type Code table service.
+ * Each code table is loaded once on first use into an immutable snapshot of the list and a map by code, so lookups are a map get
+ * without any allocation. The snapshots are swapped atomically on {@link #refresh()}, so code changes take effect without a restart.
  */
 @Service
+@Slf4j
 public class CodeTableService {
 
-  private final GenderCodeTableRepository genderCodeTableRepo;
+  private final CodeTable<GenderCodeEntity> genderCodes;
 
-  private final SexCodeTableRepository sexCodeTableRepo;
+  private final CodeTable<SexCodeEntity> sexCodes;
 
-  private final DemogCodeTableRepository demogCodeTableRepo;
+  private final CodeTable<DemogCodeEntity> demogCodes;
 
-  private final StatusCodeTableRepository statusCodeTableRepo;
+  private final CodeTable<StatusCodeEntity> statusCodes;
 
-  private final GradeCodeTableRepository gradeCodeTableRepo;
+  private final CodeTable<GradeCodeEntity> gradeCodes;
 
-  private final StudentHistoryActivityCodeTableRepository historyActivityCodeTableRepo;
+  private final CodeTable<StudentHistoryActivityCodeEntity> historyActivityCodes;
 
-  private final DocumentTypeCodeRepository documentTypeCodeRepository;
+  private final CodeTable<DocumentTypeCodeEntity> documentTypeCodes;
 
   /**
    * Instantiates a new Code table service.
@@ -46,13 +50,13 @@ public class CodeTableService {
   @Autowired
   public CodeTableService(GenderCodeTableRepository genderCodeTableRepo, SexCodeTableRepository sexCodeTableRepo, DemogCodeTableRepository demogCodeTableRepo,
                           StatusCodeTableRepository statusCodeTableRepo, GradeCodeTableRepository gradeCodeTableRepo, StudentHistoryActivityCodeTableRepository historyActivityCodeTableRepo, DocumentTypeCodeRepository documentTypeCodeRepository) {
-    this.genderCodeTableRepo = genderCodeTableRepo;
-    this.sexCodeTableRepo = sexCodeTableRepo;
-    this.demogCodeTableRepo = demogCodeTableRepo;
-    this.statusCodeTableRepo = statusCodeTableRepo;
-    this.gradeCodeTableRepo = gradeCodeTableRepo;
-    this.historyActivityCodeTableRepo = historyActivityCodeTableRepo;
-    this.documentTypeCodeRepository = documentTypeCodeRepository;
+    this.genderCodes = new CodeTable<>(genderCodeTableRepo::findAll, GenderCodeEntity::getGenderCode);
+    this.sexCodes = new CodeTable<>(sexCodeTableRepo::findAll, SexCodeEntity::getSexCode);
+    this.demogCodes = new CodeTable<>(demogCodeTableRepo::findAll, DemogCodeEntity::getDemogCode);
+    this.statusCodes = new CodeTable<>(statusCodeTableRepo::findAll, StatusCodeEntity::getStatusCode);
+    this.gradeCodes = new CodeTable<>(gradeCodeTableRepo::findAll, GradeCodeEntity::getGradeCode);
+    this.historyActivityCodes = new CodeTable<>(historyActivityCodeTableRepo::findAll, StudentHistoryActivityCodeEntity::getHistoryActivityCode);
+    this.documentTypeCodes = new CodeTable<>(documentTypeCodeRepository::findAll, DocumentTypeCodeEntity::getDocumentTypeCode);
   }
 
   /**
@@ -60,9 +64,8 @@ public class CodeTableService {
    *
    * @return {@link List <SexCodeEntity>}
    */
-  @Cacheable("sexCodes")
   public List<SexCodeEntity> getSexCodesList() {
-    return sexCodeTableRepo.findAll();
+    return sexCodes.get().codes();
   }
 
   /**
@@ -70,9 +73,8 @@ public class CodeTableService {
    *
    * @return {@link List<DemogCodeEntity>}
    */
-  @Cacheable("demogCodes")
   public List<DemogCodeEntity> getDemogCodesList() {
-    return demogCodeTableRepo.findAll();
+    return demogCodes.get().codes();
   }
 
   /**
@@ -80,9 +82,8 @@ public class CodeTableService {
    *
    * @return {@link List<DemogCodeEntity>}
    */
-  @Cacheable("gradeCodes")
   public List<GradeCodeEntity> getGradeCodesList() {
-    return gradeCodeTableRepo.findAll();
+    return gradeCodes.get().codes();
   }
 
   /**
@@ -90,9 +91,8 @@ public class CodeTableService {
    *
    * @return {@link List<StatusCodeEntity>}
    */
-  @Cacheable("statusCodes")
   public List<StatusCodeEntity> getStatusCodesList() {
-    return statusCodeTableRepo.findAll();
+    return statusCodes.get().codes();
   }
 
   /**
@@ -100,9 +100,8 @@ public class CodeTableService {
    *
    * @return {@link List<GenderCodeEntity>}
    */
-  @Cacheable("genderCodes")
   public List<GenderCodeEntity> getGenderCodesList() {
-    return genderCodeTableRepo.findAll();
+    return genderCodes.get().codes();
   }
 
   /**
@@ -110,9 +109,8 @@ public class CodeTableService {
    *
    * @return {@link List<GenderCodeEntity>}
    */
-  @Cacheable("documentTypeCodes")
   public List<DocumentTypeCodeEntity> getDocumentTypeCodes() {
-    return documentTypeCodeRepository.findAll();
+    return documentTypeCodes.get().codes();
   }
 
 
@@ -123,7 +121,7 @@ public class CodeTableService {
    * @return the optional
    */
   public Optional<DocumentTypeCodeEntity> findDocumentTypeCode(String documentTypeCode) {
-    return Optional.ofNullable(loadAllDocumentTypeCodes().get(documentTypeCode));
+    return documentTypeCodes.get().find(documentTypeCode);
   }
 
   /**
@@ -133,7 +131,7 @@ public class CodeTableService {
    * @return the optional
    */
   public Optional<SexCodeEntity> findSexCode(String sexCode) {
-    return Optional.ofNullable(loadAllSexCodes().get(sexCode));
+    return sexCodes.get().find(sexCode);
   }
 
   /**
@@ -143,7 +141,7 @@ public class CodeTableService {
    * @return the optional
    */
   public Optional<GenderCodeEntity> findGenderCode(String genderCode) {
-    return Optional.ofNullable(loadGenderCodes().get(genderCode));
+    return genderCodes.get().find(genderCode);
   }
 
   /**
@@ -153,7 +151,7 @@ public class CodeTableService {
    * @return the optional
    */
   public Optional<StudentHistoryActivityCodeEntity> findStudentHistoryActivityCode(String historyActivityCode) {
-    return Optional.ofNullable(loadStudentHistoryActivityCodes().get(historyActivityCode));
+    return historyActivityCodes.get().find(historyActivityCode);
   }
 
   /**
@@ -161,24 +159,74 @@ public class CodeTableService {
    *
    * @return {@link List<StudentHistoryActivityCodeEntity>}
    */
-  @Cacheable("studentHistoryActivityCodes")
   public List<StudentHistoryActivityCodeEntity> getStudentHistoryActivityCodesList() {
-    return historyActivityCodeTableRepo.findAll();
+    return historyActivityCodes.get().codes();
   }
 
-  private Map<String, SexCodeEntity> loadAllSexCodes() {
-    return getSexCodesList().stream().collect(Collectors.toMap(SexCodeEntity::getSexCode, Function.identity()));
-  }
-
-  private Map<String, DocumentTypeCodeEntity> loadAllDocumentTypeCodes() {
-    return getDocumentTypeCodes().stream().collect(Collectors.toMap(DocumentTypeCodeEntity::getDocumentTypeCode, Function.identity()));
+  /**
+   * Reload the code tables already loaded, readers keep using the previous snapshot until the new one is in place.
+   */
+  public void refresh() {
+    genderCodes.refresh();
+    sexCodes.refresh();
+    demogCodes.refresh();
+    statusCodes.refresh();
+    gradeCodes.refresh();
+    historyActivityCodes.refresh();
+    documentTypeCodes.refresh();
+    log.debug("code tables refreshed");
   }
 
-  private Map<String, GenderCodeEntity> loadGenderCodes() {
-    return getGenderCodesList().stream().collect(Collectors.toMap(GenderCodeEntity::getGenderCode, Function.identity()));
+  /**
+   * An immutable snapshot of a code table.
+   *
+   * @param <T>    the code entity type
+   * @param codes  the codes
+   * @param byCode the codes by code
+   */
+  private record CodeTableSnapshot<T>(List<T> codes, Map<String, T> byCode) {
+    private Optional<T> find(String code) {
+      return code == null ? Optional.empty() : Optional.ofNullable(byCode.get(code));
+    }
   }
 
-  private Map<String, StudentHistoryActivityCodeEntity> loadStudentHistoryActivityCodes() {
-    return getStudentHistoryActivityCodesList().stream().collect(Collectors.toMap(StudentHistoryActivityCodeEntity::getHistoryActivityCode, Function.identity()));
+  /**
+   * A code table loaded on first use and reloaded on refresh.
+   *
+   * @param <T> the code entity type
+   */
+  private static final class CodeTable<T> {
+    private final Supplier<List<T>> loader;
+    private final Function<T, String> codeOf;
+    private volatile CodeTableSnapshot<T> snapshot;
+
+    private CodeTable(Supplier<List<T>> loader, Function<T, String> codeOf) {
+      this.loader = loader;
+      this.codeOf = codeOf;
+    }
+
+    private CodeTableSnapshot<T> get() {
+      CodeTableSnapshot<T> current = snapshot;
+      if (current == null) {
+        synchronized (this) {
+          if (snapshot == null) {
+            snapshot = load();
+          }
+          current = snapshot;
+        }
+      }
+      return current;
+    }
+
+    private void refresh() {
+      if (snapshot != null) {
+        snapshot = load();
+      }
+    }
+
+    private CodeTableSnapshot<T> load() {
+      List<T> codes = List.copyOf(loader.get());
+      return new CodeTableSnapshot<>(codes, codes.stream().collect(Collectors.toUnmodifiableMap(codeOf, Function.identity())));
+    }
   }
 }
@@ -1,16 +1,38 @@
 package ca.bc.gov.educ.api.student.service.v1;
 
+import ca.bc.gov.educ.api.student.constant.EventOutcome;
+import ca.bc.gov.educ.api.student.constant.EventType;
+import ca.bc.gov.educ.api.student.messaging.EventMetrics;
 import ca.bc.gov.educ.api.student.messaging.MessagePublisher;
+import ca.bc.gov.educ.api.student.messaging.NatsHeaders;
 import ca.bc.gov.educ.api.student.messaging.jetstream.Publisher;
 import ca.bc.gov.educ.api.student.model.v1.StudentEvent;
 import ca.bc.gov.educ.api.student.struct.v1.Event;
+import ca.bc.gov.educ.api.student.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.nats.client.Message;
+import io.nats.client.impl.Headers;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static ca.bc.gov.educ.api.student.constant.EventType.CREATE_STUDENT;
+import static ca.bc.gov.educ.api.student.constant.EventType.CREATE_STUDENT_HISTORY;
+import static ca.bc.gov.educ.api.student.constant.EventType.GET_PAGINATED_STUDENT_BY_CRITERIA;
+import static ca.bc.gov.educ.api.student.constant.EventType.GET_STUDENT;
+import static ca.bc.gov.educ.api.student.constant.EventType.GET_STUDENTS;
+import static ca.bc.gov.educ.api.student.constant.EventType.GET_STUDENT_HISTORY;
+import static ca.bc.gov.educ.api.student.constant.EventType.UPDATE_STUDENT;
 import static ca.bc.gov.educ.api.student.service.v1.EventHandlerService.PAYLOAD_LOG;
+import static ca.bc.gov.educ.api.student.service.v1.EventHandlerService.RECORD_FOUND_IN_REPLAY_CACHE;
 
 /**
  * The type Event handler service.
@@ -25,34 +47,50 @@ public class EventHandlerDelegatorService {
    * The constant RESPONDING_BACK_TO_NATS_ON_CHANNEL.
    */
   public static final String RESPONDING_BACK_TO_NATS_ON_CHANNEL = "responding back to NATS on {} channel ";
+  /**
+   * The event types handled here, the rest are silently ignored.
+   */
+  public static final Set<EventType> SUPPORTED_EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GET_STUDENT, GET_STUDENTS, CREATE_STUDENT, UPDATE_STUDENT,
+      GET_STUDENT_HISTORY, CREATE_STUDENT_HISTORY, GET_PAGINATED_STUDENT_BY_CRITERIA));
   private final MessagePublisher messagePublisher;
   private final EventHandlerService eventHandlerService;
   private final Publisher publisher;
+  private final EventMetrics eventMetrics;
+  private final SagaReplayCacheService sagaReplayCacheService;
 
   /**
    * Instantiates a new Event handler delegator service.
    *
-   * @param messagePublisher    the message publisher
-   * @param eventHandlerService the event handler service
-   * @param publisher           the publisher
+   * @param messagePublisher       the message publisher
+   * @param eventHandlerService    the event handler service
+   * @param publisher              the publisher
+   * @param eventMetrics           the event metrics
+   * @param sagaReplayCacheService the saga replay cache service
    */
   @Autowired
-  public EventHandlerDelegatorService(MessagePublisher messagePublisher, EventHandlerService eventHandlerService, Publisher publisher) {
+  public EventHandlerDelegatorService(MessagePublisher messagePublisher, EventHandlerService eventHandlerService, Publisher publisher, EventMetrics eventMetrics, SagaReplayCacheService sagaReplayCacheService) {
     this.messagePublisher = messagePublisher;
     this.eventHandlerService = eventHandlerService;
     this.publisher = publisher;
+    this.eventMetrics = eventMetrics;
+    this.sagaReplayCacheService = sagaReplayCacheService;
   }
 
   /**
    * Handle event.
+   * The handler time is recorded with the outcome set on the event by the handler, once the reply is published.
    *
    * @param event   the event
    * @param message the message
+   * @return completes once the reply is published, later than the return for the replies sent from the pagination executor
    */
-  public void handleEvent(final Event event, final Message message) {
+  public CompletableFuture<Void> handleEvent(final Event event, final Message message) {
     byte[] response;
     Pair<byte[], StudentEvent> pair;
     boolean isSynchronous = message.getReplyTo() != null;
+    final long start = System.nanoTime();
+    boolean failed = false;
+    CompletableFuture<Void> completion = CompletableFuture.completedFuture(null);
     try {
       switch (event.getEventType()) {
         case GET_STUDENT:
@@ -64,13 +102,21 @@ public class EventHandlerDelegatorService {
           break;
         case GET_STUDENTS:
           log.info("received GET_STUDENTS event :: {}", event);
-          response = eventHandlerService.handleGetStudentsEvent(event);
+          // a request/reply requester only ever gets the first reply, so chunks are only sent for pub/sub.
+          val responses = eventHandlerService.handleGetStudentsEvent(event, isSynchronous ? 0 : NatsHeaders.getChunkSize(message));
           log.info(RESPONDING_BACK_TO_NATS_ON_CHANNEL, message.getReplyTo() != null ? message.getReplyTo() : event.getReplyTo());
-          publishToNATS(event, message, isSynchronous, response);
+          if (responses.size() == 1) {
+            publishToNATS(event, message, isSynchronous, responses.get(0));
+          } else {
+            publishChunksToNATS(event, responses);
+          }
           break;
         case CREATE_STUDENT:
           log.info("received create student event :: {}", event.getSagaId());
           log.trace(PAYLOAD_LOG, event.getEventPayload());
+          if (replayFromCache(event, message, isSynchronous)) {
+            break;
+          }
           pair = eventHandlerService.handleCreateStudentEvent(event);
           log.info(RESPONDING_BACK_TO_NATS_ON_CHANNEL, message.getReplyTo() != null ? message.getReplyTo() : event.getReplyTo());
           publishToNATS(event, message, isSynchronous, pair.getLeft());
@@ -94,6 +140,9 @@ public class EventHandlerDelegatorService {
         case CREATE_STUDENT_HISTORY:
           log.info("received CREATE_STUDENT_HISTORY event :: {}", event.getSagaId());
           log.trace(PAYLOAD_LOG, event.getEventPayload());
+          if (replayFromCache(event, message, isSynchronous)) {
+            break;
+          }
           response = eventHandlerService.handleCreateStudentHistoryEvent(event);
           log.info(RESPONDING_BACK_TO_NATS_ON_CHANNEL, message.getReplyTo() != null ? message.getReplyTo() : event.getReplyTo());
           publishToNATS(event, message, isSynchronous, response);
@@ -101,27 +150,91 @@ public class EventHandlerDelegatorService {
         case GET_PAGINATED_STUDENT_BY_CRITERIA:
           log.info("received GET_PAGINATED_STUDENT_BY_CRITERIA event :: {}", event.getSagaId());
           log.trace(PAYLOAD_LOG, event.getEventPayload());
-          eventHandlerService
+          completion = eventHandlerService
               .handleGetPaginatedStudent(event)
               .thenAcceptAsync(resBytes -> {
                 log.info(RESPONDING_BACK_TO_NATS_ON_CHANNEL, message.getReplyTo() != null ? message.getReplyTo() : event.getReplyTo());
                 publishToNATS(event, message, isSynchronous, resBytes);
-              });
-          break;
+              })
+              .whenComplete((result, ex) -> eventMetrics.recordHandler(event.getEventType(), event.getEventOutcome(), ex != null, System.nanoTime() - start));
+          return completion;
         default:
           log.info("silently ignoring other events :: {}", event);
           break;
       }
     } catch (final Exception e) {
+      failed = true;
       log.error("Exception", e);
     }
+    eventMetrics.recordHandler(event.getEventType(), event.getEventOutcome(), failed, System.nanoTime() - start);
+    return completion;
+  }
+
+  /**
+   * Reply with the retryable {@link EventOutcome#SERVICE_BUSY} outcome without processing the event, so the saga backs off and retries.
+   * Only pub/sub requesters get the busy event. A request/reply requester reads the reply as the response body of the event type, a
+   * student or a page, so it gets no reply and times out instead.
+   *
+   * @param event   the event
+   * @param message the message
+   */
+  public void handleBusy(final Event event, final Message message) {
+    if (message.getReplyTo() != null) {
+      log.debug("not responding busy to the request/reply requester of {} event :: {}", event.getEventType(), event.getSagaId());
+      return;
+    }
+    log.warn("responding busy for {} event :: {}", event.getEventType(), event.getSagaId());
+    val busyEvent = Event.builder()
+        .sagaId(event.getSagaId())
+        .eventType(event.getEventType())
+        .eventOutcome(EventOutcome.SERVICE_BUSY)
+        .eventPayload(event.getEventPayload()).build();
+    try {
+      publishToNATS(event, message, false, JsonUtil.EVENT_WRITER.writeValueAsBytes(busyEvent));
+    } catch (final JsonProcessingException e) {
+      log.error("Exception while responding busy for saga :: {}", event.getSagaId(), e);
+    }
+  }
+
+  /**
+   * Send back the response already sent for this saga step when the node local replay cache has it. The lookup is done here, before the
+   * transactional handler is entered, so a replay answered from the cache does not check out a connection.
+   *
+   * @return true if the response was replayed from the cache
+   */
+  private boolean replayFromCache(Event event, Message message, boolean isSynchronous) {
+    val cachedResponse = sagaReplayCacheService.findResponse(event.getSagaId(), event.getEventType());
+    if (cachedResponse.isEmpty()) {
+      return false;
+    }
+    log.info(RECORD_FOUND_IN_REPLAY_CACHE);
+    log.info(RESPONDING_BACK_TO_NATS_ON_CHANNEL, message.getReplyTo() != null ? message.getReplyTo() : event.getReplyTo());
+    publishToNATS(event, message, isSynchronous, cachedResponse.get());
+    return true;
   }
 
   private void publishToNATS(Event event, Message message, boolean isSynchronous, byte[] left) {
-    if (isSynchronous) { // sync, req/reply pattern of nats
-      messagePublisher.dispatchMessage(message.getReplyTo(), left);
-    } else { // async, pub/sub
-      messagePublisher.dispatchMessage(event.getReplyTo(), left);
+    final long start = System.nanoTime();
+    try {
+      if (isSynchronous) { // sync, req/reply pattern of nats
+        messagePublisher.dispatchMessage(message.getReplyTo(), left);
+      } else { // async, pub/sub
+        messagePublisher.dispatchMessage(event.getReplyTo(), left);
+      }
+    } finally {
+      eventMetrics.recordReplyPublish(event.getEventType(), System.nanoTime() - start);
+    }
+  }
+
+  private void publishChunksToNATS(Event event, List<byte[]> chunks) {
+    final long start = System.nanoTime();
+    try {
+      for (int i = 0; i < chunks.size(); i++) {
+        val headers = new Headers().put(NatsHeaders.CHUNK_INDEX, String.valueOf(i)).put(NatsHeaders.CHUNK_COUNT, String.valueOf(chunks.size()));
+        messagePublisher.dispatchMessage(event.getReplyTo(), chunks.get(i), headers);
+      }
+    } finally {
+      eventMetrics.recordReplyPublish(event.getEventType(), System.nanoTime() - start);
     }
   }
 
@@ -3,37 +3,51 @@ package ca.bc.gov.educ.api.student.service.v1;
 import static ca.bc.gov.educ.api.student.constant.EventStatus.MESSAGE_PUBLISHED;
 import static lombok.AccessLevel.PRIVATE;
 
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
 import ca.bc.gov.educ.api.student.constant.EventOutcome;
 import ca.bc.gov.educ.api.student.constant.EventType;
 import ca.bc.gov.educ.api.student.exception.EntityNotFoundException;
+import ca.bc.gov.educ.api.student.exception.StudentRuntimeException;
 import ca.bc.gov.educ.api.student.mappers.v1.StudentHistoryMapper;
 import ca.bc.gov.educ.api.student.mappers.v1.StudentMapper;
+import ca.bc.gov.educ.api.student.messaging.EventMetrics;
 import ca.bc.gov.educ.api.student.model.v1.StudentEntity;
 import ca.bc.gov.educ.api.student.model.v1.StudentEvent;
 import ca.bc.gov.educ.api.student.model.v1.StudentHistoryEntity;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
 import ca.bc.gov.educ.api.student.repository.v1.StudentEventRepository;
 import ca.bc.gov.educ.api.student.repository.v1.StudentHistoryRepository;
 import ca.bc.gov.educ.api.student.repository.v1.StudentRepository;
 import ca.bc.gov.educ.api.student.struct.v1.Event;
+import ca.bc.gov.educ.api.student.struct.v1.Search;
 import ca.bc.gov.educ.api.student.struct.v1.Student;
 import ca.bc.gov.educ.api.student.struct.v1.StudentCreate;
 import ca.bc.gov.educ.api.student.struct.v1.StudentHistory;
 import ca.bc.gov.educ.api.student.struct.v1.StudentUpdate;
 import ca.bc.gov.educ.api.student.util.JsonUtil;
+import ca.bc.gov.educ.api.student.util.MappedPage;
 import ca.bc.gov.educ.api.student.util.RequestUtil;
+import ca.bc.gov.educ.api.student.util.SearchShape;
+import ca.bc.gov.educ.api.student.util.SingleFlight;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Iterables;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -64,6 +78,10 @@ public class EventHandlerService {
    */
   public static final String RECORD_FOUND_FOR_SAGA_ID_EVENT_TYPE = "record found for the saga id and event type combination, might be a duplicate or replay," +
       " just updating the db status so that it will be polled and sent back again.";
+  /**
+   * The constant RECORD_FOUND_IN_REPLAY_CACHE.
+   */
+  public static final String RECORD_FOUND_IN_REPLAY_CACHE = "response found in replay cache for the saga id and event type combination, sending it back again.";
   /**
    * The constant PAYLOAD_LOG.
    */
@@ -79,10 +97,8 @@ public class EventHandlerService {
 
   private static final StudentMapper studentMapper = StudentMapper.mapper;
   private static final StudentHistoryMapper studentHistoryMapper = StudentHistoryMapper.mapper;
-  /**
-   * The Ob mapper.
-   */
-  private final ObjectMapper obMapper = new ObjectMapper();
+
+  private final SingleFlight<String, Optional<byte[]>> studentByPenFlight = new SingleFlight<>();
 
   @Getter(PRIVATE)
   private final StudentEventRepository studentEventRepository;
@@ -96,6 +112,18 @@ public class EventHandlerService {
   @Getter(PRIVATE)
   private final StudentSearchService studentSearchService;
 
+  @Getter(PRIVATE)
+  private final SagaReplayCacheService sagaReplayCacheService;
+
+  @Getter(PRIVATE)
+  private final StudentPenBatchLookupService studentPenBatchLookupService;
+
+  @Getter(PRIVATE)
+  private final StudentCacheService studentCacheService;
+
+  @Getter(PRIVATE)
+  private final EventMetrics eventMetrics;
+
   /**
    * The constant SEARCH_CRITERIA_LIST.
    */
@@ -115,6 +143,13 @@ public class EventHandlerService {
    */
   public static final String SORT_CRITERIA = "sortCriteriaJson";
 
+  /**
+   * The max number of student ids per query, oracle allows up to 1000 elements in an IN list.
+   */
+  public static final int STUDENT_ID_PARTITION_SIZE = 900;
+
+  private final Executor studentPartitionQueryExecutor;
+
   /**
    * Instantiates a new Event handler service.
    *
@@ -122,15 +157,27 @@ public class EventHandlerService {
    * @param studentEventRepository the student event repository
    * @param studentService         the student service
    * @param studentSearchService   the student search service
+   * @param sagaReplayCacheService the saga replay cache service
+   * @param studentPenBatchLookupService the student pen batch lookup service
+   * @param executorFactory        the executor factory
+   * @param applicationProperties  the application properties
+   * @param studentCacheService    the student cache service
+   * @param eventMetrics           the event metrics
    */
   @Autowired
-  public EventHandlerService(final StudentRepository studentRepository, final StudentEventRepository studentEventRepository, final StudentHistoryRepository studentHistoryRepository,final StudentHistoryService studentHistoryService, StudentService studentService, StudentSearchService studentSearchService) {
+  public EventHandlerService(final StudentRepository studentRepository, final StudentEventRepository studentEventRepository, final StudentHistoryRepository studentHistoryRepository,final StudentHistoryService studentHistoryService, StudentService studentService, StudentSearchService studentSearchService, final SagaReplayCacheService sagaReplayCacheService, final StudentPenBatchLookupService studentPenBatchLookupService, final ExecutorFactory executorFactory, final ApplicationProperties applicationProperties, final StudentCacheService studentCacheService, final EventMetrics eventMetrics) {
     this.studentRepository = studentRepository;
     this.studentEventRepository = studentEventRepository;
     this.studentService = studentService;
     this.studentSearchService = studentSearchService;
     this.studentHistoryRepository = studentHistoryRepository;
     this.studentHistoryService = studentHistoryService;
+    this.sagaReplayCacheService = sagaReplayCacheService;
+    this.studentPenBatchLookupService = studentPenBatchLookupService;
+    this.studentCacheService = studentCacheService;
+    this.eventMetrics = eventMetrics;
+    val partitionParallelism = applicationProperties.getStudentPartitionQueryParallelism();
+    this.studentPartitionQueryExecutor = executorFactory.newJdbcExecutor("get-students-partition-query-%d", partitionParallelism, partitionParallelism);
   }
 
 
@@ -148,7 +195,7 @@ public class EventHandlerService {
     var student = JsonUtil.getJsonObjectFromString(StudentUpdate.class, event.getEventPayload());
     RequestUtil.setAuditColumnsForCreate(student);
     try {
-      val pair = getStudentService().updateStudent(student, UUID.fromString(student.getStudentID()));
+      val pair = getEventMetrics().timeDb(event.getEventType(), () -> getStudentService().updateStudent(student, UUID.fromString(student.getStudentID())));
       choreographyEvent = pair.getRight();
       event.setEventPayload(JsonUtil.getJsonStringFromObject(studentMapper.toStructure(pair.getLeft())));// need to convert to structure MANDATORY otherwise jackson will break.
       event.setEventOutcome(EventOutcome.STUDENT_UPDATED);
@@ -157,7 +204,7 @@ public class EventHandlerService {
     }
 
     val studentEvent = createStudentEventRecord(event);
-    getStudentEventRepository().save(studentEvent);
+    getEventMetrics().timeDb(event.getEventType(), () -> getStudentEventRepository().save(studentEvent));
     return Pair.of(createResponseEvent(studentEvent), choreographyEvent);
   }
 
@@ -170,20 +217,20 @@ public class EventHandlerService {
    */
   @Transactional(propagation = Propagation.REQUIRES_NEW)
   public Pair<byte[], StudentEvent> handleCreateStudentEvent(Event event) throws JsonProcessingException {
-    val studentEventOptional = getStudentEventRepository().findBySagaIdAndEventType(event.getSagaId(), event.getEventType().toString());
+    val studentEventOptional = getEventMetrics().timeDb(event.getEventType(), () -> getStudentEventRepository().findBySagaIdAndEventType(event.getSagaId(), event.getEventType().toString()));
     StudentEvent studentEvent;
     StudentEvent choreographyEvent = null;
     if (studentEventOptional.isEmpty()) {
       log.info(NO_RECORD_SAGA_ID_EVENT_TYPE);
       log.trace(EVENT_PAYLOAD, event);
       StudentCreate student = JsonUtil.getJsonObjectFromString(StudentCreate.class, event.getEventPayload());
-      val optionalStudent = getStudentRepository().findStudentEntityByPen(student.getPen());
+      val optionalStudent = getEventMetrics().timeDb(event.getEventType(), () -> getStudentRepository().findStudentEntityByPen(student.getPen()));
       if (optionalStudent.isPresent()) {
         event.setEventOutcome(EventOutcome.STUDENT_ALREADY_EXIST);
         event.setEventPayload(optionalStudent.get().getStudentID().toString()); // return the student ID in response.
       } else {
         RequestUtil.setAuditColumnsForCreate(student);
-        var studentPair = getStudentService().createStudent(student);
+        var studentPair = getEventMetrics().timeDb(event.getEventType(), () -> getStudentService().createStudent(student));
         StudentEntity entity = studentPair.getLeft();
         choreographyEvent = studentPair.getRight();
         event.setEventOutcome(EventOutcome.STUDENT_CREATED);
@@ -197,8 +244,11 @@ public class EventHandlerService {
       studentEvent.setUpdateDate(LocalDateTime.now());
     }
 
-    getStudentEventRepository().save(studentEvent);
-    return Pair.of(createResponseEvent(studentEvent), choreographyEvent);
+    val savedStudentEvent = studentEvent;
+    getEventMetrics().timeDb(event.getEventType(), () -> getStudentEventRepository().save(savedStudentEvent));
+    val response = createResponseEvent(studentEvent);
+    getSagaReplayCacheService().putResponseAfterCommit(event.getSagaId(), event.getEventType(), response);
+    return Pair.of(response, choreographyEvent);
   }
 
 
@@ -211,56 +261,161 @@ public class EventHandlerService {
    * @return the byte [ ]
    * @throws JsonProcessingException the json processing exception
    */
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
   public byte[] handleGetStudentEvent(Event event, boolean isSynchronous) throws JsonProcessingException {
+    val studentBytes = this.findStudentBytesByPen(event.getEventPayload());
     if (isSynchronous) {
-      val optionalStudentEntity = getStudentRepository().findStudentEntityByPen(event.getEventPayload());
-      if (optionalStudentEntity.isPresent()) {
-        return JsonUtil.getJsonBytesFromObject(studentMapper.toStructure(optionalStudentEntity.get()));
-      } else {
-        return new byte[0];
-      }
+      return studentBytes.orElseGet(() -> new byte[0]);
     }
 
     log.trace(EVENT_PAYLOAD, event);
-    val optionalStudentEntity = getStudentRepository().findStudentEntityByPen(event.getEventPayload());
-    if (optionalStudentEntity.isPresent()) {
-      Student student = studentMapper.toStructure(optionalStudentEntity.get()); // need to convert to structure MANDATORY otherwise jackson will break.
-      event.setEventPayload(JsonUtil.getJsonStringFromObject(student));
+    if (studentBytes.isPresent()) {
+      event.setEventPayload(new String(studentBytes.get(), StandardCharsets.UTF_8));
       event.setEventOutcome(EventOutcome.STUDENT_FOUND);
     } else {
       event.setEventOutcome(EventOutcome.STUDENT_NOT_FOUND);
     }
-    val studentEvent = createStudentEventRecord(event);
-    return createResponseEvent(studentEvent);
+    return createReadResponseEvent(event);
+  }
+
+  /**
+   * Concurrent lookups of the same PEN, common during saga fan out, share one query and one serialized student.
+   *
+   * @param pen the pen
+   * @return the student as json bytes, empty if not found
+   */
+  private Optional<byte[]> findStudentBytesByPen(String pen) {
+    return studentByPenFlight.load(pen, () -> getEventMetrics().timeDb(EventType.GET_STUDENT, () -> getStudentCacheService().findByPen(pen, getStudentPenBatchLookupService()::findStudentEntityByPen)).map(studentEntity -> {
+      final long start = System.nanoTime();
+      try {
+        return JsonUtil.STUDENT_WRITER.writeValueAsBytes(studentMapper.toStructure(studentEntity)); // need to convert to structure MANDATORY otherwise jackson will break.
+      } catch (final JsonProcessingException e) {
+        throw new StudentRuntimeException(e.getMessage());
+      } finally {
+        getEventMetrics().recordSerialization(EventType.GET_STUDENT, System.nanoTime() - start);
+      }
+    }));
   }
 
   /**
    * Saga should never be null for this type of event.
-   * this method expects that the event payload contains a list of pen numbers.
+   * this method expects that the event payload contains a list of student ids.
    *
-   * @param event         containing the student PENs.
+   * @param event         containing the student ids.
    * @return the byte [ ]
    * @throws JsonProcessingException the json processing exception
    */
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
   public byte[] handleGetStudentsEvent(Event event) throws JsonProcessingException {
-    Set<UUID> studentIds = obMapper.readValue(event.getEventPayload(), new TypeReference<>() {
+    return handleGetStudentsEvent(event, 0).get(0);
+  }
+
+  /**
+   * Fetch the students in partitions of {@link #STUDENT_ID_PARTITION_SIZE} ids in parallel, serializing each partition in order while the later ones are still loading.
+   * No transaction is opened here so that each partition query runs in its own read only transaction on the partition executor.
+   * Holding a connection for the whole event while the partitions wait for their own connections could drain the hikari pool under load.
+   * Mapping the entities after their transaction is safe, {@link StudentEntity} has no lazy associations to load.
+   * The partition executor is a bounded pool of its own, counted in the JDBC budget, the calling event worker holds no connection while
+   * it waits on the partitions.
+   *
+   * @param event     containing the student ids.
+   * @param chunkSize the max number of students per response event, zero or less for a single response event
+   * @return the response events, more than one only when chunking was asked for and all the students were found
+   * @throws JsonProcessingException the json processing exception
+   */
+  public List<byte[]> handleGetStudentsEvent(Event event, int chunkSize) throws JsonProcessingException {
+    Set<UUID> studentIds = JsonUtil.mapper.readValue(event.getEventPayload(), new TypeReference<>() {
     }); // typecast to a set to eliminate duplicates.
-    var partitionedList = Iterables.partition(studentIds, 900);
-    List<StudentEntity> studentEntityList = new ArrayList<>();
-    for (List<UUID> list : partitionedList) {
-      studentEntityList.addAll(getStudentRepository().findStudentEntityByStudentIDIn(list));
+    var partitionFutures = new ArrayList<CompletableFuture<List<StudentEntity>>>();
+    for (List<UUID> list : Iterables.partition(studentIds, STUDENT_ID_PARTITION_SIZE)) {
+      var cachedStudents = getStudentCacheService().getAllPresent(list);
+      if (cachedStudents.size() == list.size()) {
+        partitionFutures.add(CompletableFuture.completedFuture(new ArrayList<>(cachedStudents.values())));
+      } else {
+        partitionFutures.add(CompletableFuture.supplyAsync(() -> findStudentsNotCached(list, cachedStudents), studentPartitionQueryExecutor));
+      }
     }
-    if (!studentEntityList.isEmpty() && studentEntityList.size() == studentIds.size()) {
-      var studentList = studentEntityList.stream().map(studentMapper::toStructure).toList();
-      event.setEventPayload(JsonUtil.getJsonStringFromObject(studentList));
+    var chunks = new ArrayList<String>();
+    var chunkWriter = new StudentArrayWriter();
+    int studentsFound = 0;
+    long serializationNanos = 0;
+    try {
+      for (var partitionFuture : partitionFutures) {
+        for (StudentEntity studentEntity : partitionFuture.join()) {
+          final long start = System.nanoTime();
+          chunkWriter.write(studentMapper.toStructure(studentEntity)); // need to convert to structure MANDATORY otherwise jackson will break.
+          studentsFound++;
+          if (chunkSize > 0 && chunkWriter.size() == chunkSize) {
+            chunks.add(chunkWriter.close());
+            chunkWriter = new StudentArrayWriter();
+          }
+          serializationNanos += System.nanoTime() - start;
+        }
+      }
+      if (chunks.isEmpty() || chunkWriter.size() > 0) {
+        chunks.add(chunkWriter.close());
+      }
+      getEventMetrics().recordSerialization(event.getEventType(), serializationNanos);
+    } catch (IOException e) {
+      throw new StudentRuntimeException(e.getMessage());
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+    }
+    List<byte[]> responses = new ArrayList<>();
+    if (studentsFound > 0 && studentsFound == studentIds.size()) {
       event.setEventOutcome(EventOutcome.STUDENTS_FOUND);
+      for (String chunk : chunks) {
+        event.setEventPayload(chunk);
+        responses.add(createReadResponseEvent(event));
+      }
     } else {
       event.setEventOutcome(EventOutcome.STUDENTS_NOT_FOUND);
+      responses.add(createReadResponseEvent(event));
+    }
+    log.info("Found :: {} unique students, Event outcome for saga ID :: {}, is :: {}, in :: {} response(s)", studentsFound, event.getSagaId(), event.getEventOutcome(), responses.size());
+    return responses;
+  }
+
+  private List<StudentEntity> findStudentsNotCached(List<UUID> studentIds, Map<UUID, StudentEntity> cachedStudents) {
+    var notCachedIds = studentIds.stream().filter(studentId -> !cachedStudents.containsKey(studentId)).toList();
+    var students = new ArrayList<>(cachedStudents.values());
+    final long generation = getStudentCacheService().getGeneration();
+    for (StudentEntity studentEntity : getEventMetrics().timeDb(EventType.GET_STUDENTS, () -> getStudentRepository().findStudentEntityByStudentIDIn(notCachedIds))) {
+      getStudentCacheService().put(studentEntity, generation);
+      students.add(studentEntity);
+    }
+    return students;
+  }
+
+  /**
+   * Writes students one by one into a json array.
+   */
+  private static final class StudentArrayWriter {
+    private final StringWriter stringWriter = new StringWriter();
+    private final JsonGenerator generator;
+    private int size;
+
+    private StudentArrayWriter() {
+      try {
+        this.generator = JsonUtil.mapper.getFactory().createGenerator(this.stringWriter);
+        this.generator.writeStartArray();
+      } catch (IOException e) {
+        throw new StudentRuntimeException(e.getMessage());
+      }
+    }
+
+    private void write(Student student) throws IOException {
+      this.generator.writeObject(student);
+      this.size++;
+    }
+
+    private int size() {
+      return this.size;
+    }
+
+    private String close() throws IOException {
+      this.generator.writeEndArray();
+      this.generator.close();
+      return this.stringWriter.toString();
     }
-    log.info("Found :: {} unique students, Event outcome for saga ID :: {}, is :: {}", studentEntityList.size(), event.getSagaId(), event.getEventOutcome());
-    return createResponseEvent(createStudentEventRecord(event));
   }
 
   /**
@@ -273,19 +428,19 @@ public class EventHandlerService {
    */
   @Transactional(propagation = Propagation.REQUIRES_NEW)
   public byte[] handleCreateStudentHistoryEvent(Event event) throws JsonProcessingException {
-    val studentEventOptional = getStudentEventRepository().findBySagaIdAndEventType(event.getSagaId(), event.getEventType().toString());
+    val studentEventOptional = getEventMetrics().timeDb(event.getEventType(), () -> getStudentEventRepository().findBySagaIdAndEventType(event.getSagaId(), event.getEventType().toString()));
     StudentEvent studentEvent;
     if (studentEventOptional.isEmpty()) {
       List<StudentHistory> studentList = new ArrayList<>();
       log.info(NO_RECORD_SAGA_ID_EVENT_TYPE);
       log.trace(EVENT_PAYLOAD, event);
-      JavaType type = obMapper.getTypeFactory().
+      JavaType type = JsonUtil.mapper.getTypeFactory().
               constructCollectionType(List.class, StudentHistory.class);
-      List<StudentHistory> audits = obMapper.readValue(event.getEventPayload(), type);
+      List<StudentHistory> audits = JsonUtil.mapper.readValue(event.getEventPayload(), type);
       audits.forEach(studentHistory -> {
         if (StringUtils.isBlank(studentHistory.getStudentHistoryID())) {
           RequestUtil.setAuditColumnsForCreateIfBlank(studentHistory);
-          StudentHistoryEntity entity = getStudentHistoryService().createStudentHistory(studentHistory, true);
+          StudentHistoryEntity entity = getEventMetrics().timeDb(event.getEventType(), () -> getStudentHistoryService().createStudentHistory(studentHistory, true));
           studentList.add(studentHistoryMapper.toStructure(entity));
         }
       });
@@ -306,8 +461,11 @@ public class EventHandlerService {
       studentEvent.setUpdateDate(LocalDateTime.now());
     }
 
-    getStudentEventRepository().save(studentEvent);
-    return createResponseEvent(studentEvent);
+    val savedStudentEvent = studentEvent;
+    getEventMetrics().timeDb(event.getEventType(), () -> getStudentEventRepository().save(savedStudentEvent));
+    val response = createResponseEvent(studentEvent);
+    getSagaReplayCacheService().putResponseAfterCommit(event.getSagaId(), event.getEventType(), response);
+    return response;
   }
 
 
@@ -319,9 +477,9 @@ public class EventHandlerService {
    * @return the byte [ ]
    * @throws JsonProcessingException the json processing exception
    */
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  @Transactional(readOnly = true)
   public byte[] handleGetStudentHistoryEvent(Event event) throws JsonProcessingException {
-    val studentHistoryEntityList = getStudentHistoryRepository().findByStudentID(UUID.fromString(event.getEventPayload()));
+    val studentHistoryEntityList = getEventMetrics().timeDb(event.getEventType(), () -> getStudentHistoryRepository().findByStudentID(UUID.fromString(event.getEventPayload())));
     log.info("Found :: {} student history records for saga ID :: {}", studentHistoryEntityList.size(), event.getSagaId());
     if (!studentHistoryEntityList.isEmpty()) {
       var studentHistoryList = studentHistoryEntityList.stream().map(studentHistoryMapper::toStructure).collect(Collectors.toList());
@@ -331,7 +489,7 @@ public class EventHandlerService {
       event.setEventOutcome(EventOutcome.STUDENT_HISTORY_NOT_FOUND);
     }
     log.info("Event outcome for saga ID :: {}, is :: {}", event.getSagaId(), event.getEventOutcome());
-    return createResponseEvent(createStudentEventRecord(event));
+    return createReadResponseEvent(event);
   }
 
   private StudentEvent createStudentEventRecord(Event event) {
@@ -355,7 +513,33 @@ public class EventHandlerService {
         .eventType(EventType.valueOf(event.getEventType()))
         .eventOutcome(EventOutcome.valueOf(event.getEventOutcome()))
         .eventPayload(event.getEventPayload()).build();
-    return JsonUtil.getJsonBytesFromObject(responseEvent);
+    return writeResponseEvent(responseEvent);
+  }
+
+  /**
+   * Read only events are never persisted, so the response is built straight from the incoming event
+   * without copying the payload into a {@link StudentEvent} first.
+   *
+   * @param event the event with outcome and payload set
+   * @return the byte [ ]
+   * @throws JsonProcessingException the json processing exception
+   */
+  private byte[] createReadResponseEvent(Event event) throws JsonProcessingException {
+    val responseEvent = Event.builder()
+        .sagaId(event.getSagaId())
+        .eventType(event.getEventType())
+        .eventOutcome(event.getEventOutcome())
+        .eventPayload(event.getEventPayload()).build();
+    return writeResponseEvent(responseEvent);
+  }
+
+  private byte[] writeResponseEvent(Event responseEvent) throws JsonProcessingException {
+    final long start = System.nanoTime();
+    try {
+      return JsonUtil.EVENT_WRITER.writeValueAsBytes(responseEvent);
+    } finally {
+      getEventMetrics().recordSerialization(responseEvent.getEventType(), System.nanoTime() - start);
+    }
   }
 
   /**
@@ -386,18 +570,23 @@ public class EventHandlerService {
     }
 
     final List<Sort.Order> sorts = new ArrayList<>();
-    Specification<StudentEntity> studentSpecs = studentSearchService.setSpecificationAndSortCriteria(sortCriteriaJson, searchCriteriaListJson, obMapper, sorts);
+    final List<Search> searches = studentSearchService.readSearches(searchCriteriaListJson);
+    Specification<StudentEntity> studentSpecs = studentSearchService.setSpecificationAndSortCriteria(sortCriteriaJson, searches, sorts);
+    final long queryStart = System.nanoTime();
     return getStudentService()
-        .findAll(studentSpecs, pageNumber, pageSize, sorts)
-        .thenApplyAsync(studentEntities -> studentEntities.map(studentMapper::toStructure))
+        .findAll(studentSpecs, SearchShape.of(searches), pageNumber, pageSize, sorts)
         .thenApplyAsync(studentEntities -> {
+          final long serializationStart = System.nanoTime();
+          getEventMetrics().recordDb(event.getEventType(), serializationStart - queryStart);
           try {
-            log.info("found {} students for {}", studentEntities.getContent().size(), event.getSagaId());
-            val resBytes = obMapper.writeValueAsBytes(studentEntities);
+            log.info("found {} students for {}", studentEntities.getNumberOfElements(), event.getSagaId());
+            val resBytes = JsonUtil.PAGE_WRITER.writeValueAsBytes(new MappedPage<>(studentEntities, studentMapper::toStructure));
             log.info("response prepared for {}, response length {}", event.getSagaId(), resBytes.length);
             return resBytes;
           } catch (JsonProcessingException e) {
             log.error("Error during get paginated student :: {} {}", event, e);
+          } finally {
+            getEventMetrics().recordSerialization(event.getEventType(), System.nanoTime() - serializationStart);
           }
           return new byte[0];
         });
@@ -0,0 +1,81 @@
+package ca.bc.gov.educ.api.student.service.v1;
+
+import ca.bc.gov.educ.api.student.repository.v1.StudentEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static ca.bc.gov.educ.api.student.constant.EventStatus.DB_COMMITTED;
+
+/**
+ * Samples the STUDENT_EVENT outbox, the events committed to the DB and not yet confirmed as published to jet stream.
+ * The DB is only queried when a sample is taken, the gauges and the health indicator read the last sample, so a scrape never hits the DB.
+ * The age of the oldest event is worked out when it is read, so it keeps growing between samples.
+ */
+@Service
+@Slf4j
+public class OutboxMetricsService {
+  private final StudentEventRepository studentEventRepository;
+  private volatile OutboxSample sample;
+
+  /**
+   * Instantiates a new Outbox metrics service.
+   *
+   * @param studentEventRepository the student event repository
+   * @param meterRegistry          the meter registry
+   */
+  @Autowired
+  public OutboxMetricsService(final StudentEventRepository studentEventRepository, final MeterRegistry meterRegistry) {
+    this.studentEventRepository = studentEventRepository;
+    Gauge.builder("student.outbox.backlog", this, service -> service.getSample() == null ? 0 : service.getSample().backlog())
+        .description("events committed to the DB and not yet published to jet stream").register(meterRegistry);
+    Gauge.builder("student.outbox.oldest.unpublished.age", this, service -> service.getSample() == null ? 0 : service.getSample().oldestUnpublishedAge().toSeconds())
+        .baseUnit("seconds").description("age of the oldest event not yet published to jet stream").register(meterRegistry);
+  }
+
+  /**
+   * Take a new sample of the outbox.
+   */
+  public void refresh() {
+    final long backlog = this.studentEventRepository.countByEventStatus(DB_COMMITTED.toString());
+    final LocalDateTime oldest = backlog == 0 ? null : this.studentEventRepository.findOldestCreateDateByEventStatus(DB_COMMITTED.toString()).orElse(null);
+    this.sample = new OutboxSample(backlog, oldest);
+    log.debug("outbox backlog :: {}, oldest unpublished event created at :: {}", backlog, oldest);
+  }
+
+  /**
+   * Gets the last sample.
+   *
+   * @return the sample, null until the first sample is taken
+   */
+  public OutboxSample getSample() {
+    return this.sample;
+  }
+
+  /**
+   * A sample of the outbox.
+   *
+   * @param backlog             the number of events not yet published
+   * @param oldestUnpublishedAt the create date of the oldest event not yet published, null if there is none
+   */
+  public record OutboxSample(long backlog, LocalDateTime oldestUnpublishedAt) {
+
+    /**
+     * Gets the age of the oldest event not yet published.
+     *
+     * @return the age, zero if there is none
+     */
+    public Duration oldestUnpublishedAge() {
+      if (this.oldestUnpublishedAt == null) {
+        return Duration.ZERO;
+      }
+      final Duration age = Duration.between(this.oldestUnpublishedAt, LocalDateTime.now());
+      return age.isNegative() ? Duration.ZERO : age;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package ca.bc.gov.educ.api.student.service.v1;
+
+import ca.bc.gov.educ.api.student.constant.EventType;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Node local cache of the responses already sent for a saga id and event type combination.
+ * Sagas replay their steps, this cache answers the replay without reading the STUDENT_EVENT table. It is looked up before the
+ * transactional handler is entered, so a replay answered from it does not check out a connection.
+ * On a miss the caller still checks the table, which stays the source of truth across nodes and restarts.
+ */
+@Service
+@Slf4j
+public class SagaReplayCacheService {
+  private final Cache<String, byte[]> responseCache;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+
+  /**
+   * Instantiates a new Saga replay cache service.
+   *
+   * @param applicationProperties the application properties
+   * @param meterRegistry         the meter registry
+   */
+  @Autowired
+  public SagaReplayCacheService(final ApplicationProperties applicationProperties, final MeterRegistry meterRegistry) {
+    this.responseCache = CacheBuilder.newBuilder()
+        .maximumSize(applicationProperties.getSagaReplayCacheMaxSize())
+        .expireAfterWrite(Duration.ofMinutes(applicationProperties.getSagaReplayCacheTtlMinutes()))
+        .build();
+    this.hitCounter = Counter.builder("student.saga.replay.cache").tag("result", "hit").description("saga replays answered from the node local cache").register(meterRegistry);
+    this.missCounter = Counter.builder("student.saga.replay.cache").tag("result", "miss").description("saga events not found in the node local cache").register(meterRegistry);
+  }
+
+  /**
+   * Find the response already sent for this saga step.
+   *
+   * @param sagaId    the saga id
+   * @param eventType the event type
+   * @return the optional response
+   */
+  public Optional<byte[]> findResponse(final UUID sagaId, final EventType eventType) {
+    if (sagaId == null) {
+      return Optional.empty();
+    }
+    final byte[] response = this.responseCache.getIfPresent(this.key(sagaId, eventType));
+    if (response == null) {
+      this.missCounter.increment();
+      return Optional.empty();
+    }
+    this.hitCounter.increment();
+    return Optional.of(response);
+  }
+
+  /**
+   * Remember the response for this saga step once the current transaction commits, so a rolled back step is never replayed from the cache.
+   *
+   * @param sagaId    the saga id
+   * @param eventType the event type
+   * @param response  the response
+   */
+  public void putResponseAfterCommit(final UUID sagaId, final EventType eventType, final byte[] response) {
+    if (sagaId == null) {
+      return;
+    }
+    final String key = this.key(sagaId, eventType);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          SagaReplayCacheService.this.responseCache.put(key, response);
+        }
+      });
+    } else {
+      this.responseCache.put(key, response);
+    }
+  }
+
+  private String key(final UUID sagaId, final EventType eventType) {
+    return sagaId + "::" + eventType;
+  }
+}
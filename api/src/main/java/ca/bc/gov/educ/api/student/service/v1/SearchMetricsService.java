@@ -0,0 +1,116 @@
+package ca.bc.gov.educ.api.student.service.v1;
+
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of the paginated searches by search, {@link ca.bc.gov.educ.api.student.util.SearchShape} and outcome, and logs the
+ * slow ones. The shapes come from the clients, so only the configured number of distinct shapes get their own timer, the rest share the
+ * {@link #OTHER_SHAPES} timer. The slow search log still has the real shape.
+ * Every timer publishes the same few latency buckets around the slow search threshold instead of a full percentile histogram, which
+ * would add some seventy bucket series per shape.
+ */
+@Service
+@Slf4j
+public class SearchMetricsService {
+  /**
+   * The search of students by criteria.
+   */
+  public static final String STUDENTS = "students";
+  /**
+   * The search of student history by criteria.
+   */
+  public static final String STUDENT_HISTORY = "studentHistory";
+  /**
+   * The search of distinct students by student history criteria.
+   */
+  public static final String DISTINCT_STUDENTS_BY_HISTORY = "distinctStudentsByHistory";
+  /**
+   * The shape tag of the shapes over the max.
+   */
+  public static final String OTHER_SHAPES = "other";
+  private static final String SUCCESS = "success";
+  private static final String FAILURE = "failure";
+  private static final Duration[] LATENCY_BUCKETS = {Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+      Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(10), Duration.ofSeconds(30)};
+  private final MeterRegistry meterRegistry;
+  private final long slowThresholdNanos;
+  private final int maxShapes;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  /**
+   * Instantiates a new Search metrics service.
+   *
+   * @param meterRegistry         the meter registry
+   * @param applicationProperties the application properties
+   */
+  @Autowired
+  public SearchMetricsService(final MeterRegistry meterRegistry, final ApplicationProperties applicationProperties) {
+    this.meterRegistry = meterRegistry;
+    this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(applicationProperties.getSearchSlowThresholdMillis());
+    this.maxShapes = applicationProperties.getSearchMetricsMaxShapes();
+  }
+
+  /**
+   * Record a search which returned a page.
+   *
+   * @param search     the search
+   * @param shape      the shape of the search
+   * @param pageNumber the page number
+   * @param pageSize   the page size
+   * @param queuedAt   the {@link System#nanoTime()} the search was submitted at
+   * @param startedAt  the {@link System#nanoTime()} the query started at
+   * @param page       the page found
+   */
+  public void record(final String search, final String shape, final int pageNumber, final int pageSize, final long queuedAt, final long startedAt, final Page<?> page) {
+    final long endedAt = System.nanoTime();
+    final long queryNanos = endedAt - startedAt;
+    this.getTimer(search, shape, SUCCESS).record(queryNanos, TimeUnit.NANOSECONDS);
+    if (queryNanos >= this.slowThresholdNanos) {
+      log.warn("slow search :: search={}, shape={}, pageNumber={}, pageSize={}, rows={}, totalElements={}, queueWaitMillis={}, queryMillis={}", search, shape, pageNumber,
+          pageSize, page.getNumberOfElements(), page.getTotalElements(), TimeUnit.NANOSECONDS.toMillis(startedAt - queuedAt), TimeUnit.NANOSECONDS.toMillis(queryNanos));
+    }
+  }
+
+  /**
+   * Record a search which failed.
+   *
+   * @param search    the search
+   * @param shape     the shape of the search
+   * @param startedAt the {@link System#nanoTime()} the query started at
+   * @param e         the failure
+   */
+  public void recordFailure(final String search, final String shape, final long startedAt, final Exception e) {
+    final long queryNanos = System.nanoTime() - startedAt;
+    this.getTimer(search, shape, FAILURE).record(queryNanos, TimeUnit.NANOSECONDS);
+    log.warn("failed search :: search={}, shape={}, queryMillis={}, error={}", search, shape, TimeUnit.NANOSECONDS.toMillis(queryNanos), e.getMessage());
+  }
+
+  private Timer getTimer(final String search, final String shape, final String outcome) {
+    final String key = search + '|' + shape + '|' + outcome;
+    final Timer timer = this.timers.get(key);
+    if (timer != null) {
+      return timer;
+    }
+    if (this.timers.size() >= this.maxShapes) {
+      return this.timers.computeIfAbsent(search + '|' + OTHER_SHAPES + '|' + outcome, other -> this.newTimer(search, OTHER_SHAPES, outcome));
+    }
+    return this.timers.computeIfAbsent(key, newKey -> this.newTimer(search, shape, outcome));
+  }
+
+  private Timer newTimer(final String search, final String shape, final String outcome) {
+    return Timer.builder("student.search").tag("search", search).tag("shape", shape).tag("outcome", outcome)
+        .serviceLevelObjectives(LATENCY_BUCKETS)
+        .description("time taken by the paginated searches, by search shape and outcome").register(this.meterRegistry);
+  }
+}
@@ -0,0 +1,257 @@
+package ca.bc.gov.educ.api.student.service.v1;
+
+import ca.bc.gov.educ.api.student.model.v1.StudentEntity;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import ca.bc.gov.educ.api.student.struct.v1.ChoreographedEvent;
+import ca.bc.gov.educ.api.student.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Node local cache of student entities by student id, with a PEN to student id index.
+ * Writes through {@link StudentService} invalidate the entries on this node, the other nodes invalidate theirs when they receive the
+ * choreographed STUDENT_EVENTS message of the write. Entries also expire after the configured TTL, which bounds how stale a read can be
+ * if an invalidation is missed. Only found students are cached.
+ * The cache holds detached copies and hands out copies, so neither a managed entity nor a caller changing its student can alter a
+ * cached one. A load only caches its result if no eviction happened while it ran, a read which loaded the row before a write committed
+ * can not put the old version back after the write evicted it.
+ */
+@Service
+@Slf4j
+public class StudentCacheService {
+  private static final String STUDENT_ID = "studentID";
+  private final Cache<UUID, StudentEntity> studentsById;
+  private final Cache<String, UUID> studentIdsByPen;
+  private final AtomicLong evictions = new AtomicLong();
+  private final Object evictionLock = new Object();
+
+  /**
+   * Instantiates a new Student cache service.
+   *
+   * @param applicationProperties the application properties
+   * @param meterRegistry         the meter registry
+   */
+  @Autowired
+  public StudentCacheService(final ApplicationProperties applicationProperties, final MeterRegistry meterRegistry) {
+    final long maxSize = applicationProperties.getStudentCacheMaxSize();
+    final Duration ttl = Duration.ofSeconds(applicationProperties.getStudentCacheTtlSeconds());
+    this.studentsById = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    this.studentIdsByPen = CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    GuavaCacheMetrics.monitor(meterRegistry, this.studentsById, "student.entity");
+    Gauge.builder("student.entity.cache.hit.ratio", this.studentsById, cache -> cache.stats().hitRate())
+        .description("ratio of student lookups answered from the node local cache").register(meterRegistry);
+  }
+
+  /**
+   * Find the student by id, loading and caching it on a miss.
+   *
+   * @param studentID the student id
+   * @param loader    the loader
+   * @return the optional student entity
+   */
+  public Optional<StudentEntity> findById(final UUID studentID, final Function<UUID, Optional<StudentEntity>> loader) {
+    final Optional<StudentEntity> cached = this.getIfPresent(studentID);
+    if (cached.isPresent()) {
+      return cached;
+    }
+    final long generation = this.getGeneration();
+    final Optional<StudentEntity> loaded = loader.apply(studentID);
+    loaded.ifPresent(studentEntity -> this.put(studentEntity, generation));
+    return loaded;
+  }
+
+  /**
+   * Find the student by PEN, loading and caching it on a miss.
+   *
+   * @param pen    the pen
+   * @param loader the loader
+   * @return the optional student entity
+   */
+  public Optional<StudentEntity> findByPen(final String pen, final Function<String, Optional<StudentEntity>> loader) {
+    if (pen == null) {
+      return loader.apply(null);
+    }
+    final Optional<StudentEntity> cached = this.getIfPresentByPen(pen);
+    if (cached.isPresent()) {
+      return cached;
+    }
+    final long generation = this.getGeneration();
+    final Optional<StudentEntity> loaded = loader.apply(pen);
+    loaded.ifPresent(studentEntity -> this.put(studentEntity, generation));
+    return loaded;
+  }
+
+  /**
+   * Gets the cached student, without loading it on a miss.
+   *
+   * @param studentID the student id
+   * @return the optional student entity
+   */
+  public Optional<StudentEntity> getIfPresent(final UUID studentID) {
+    return studentID == null ? Optional.empty() : Optional.ofNullable(this.studentsById.getIfPresent(studentID)).map(StudentCacheService::copyOf);
+  }
+
+  /**
+   * Gets the cached student of the PEN, without loading it on a miss.
+   *
+   * @param pen the pen
+   * @return the optional student entity
+   */
+  public Optional<StudentEntity> getIfPresentByPen(final String pen) {
+    if (pen == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(this.studentIdsByPen.getIfPresent(pen)).map(this.studentsById::getIfPresent).filter(cached -> pen.equals(cached.getPen()))
+        .map(StudentCacheService::copyOf);
+  }
+
+  /**
+   * Gets the cached students among the ids, the misses are left out.
+   *
+   * @param studentIDs the student ids
+   * @return the cached students by id
+   */
+  public Map<UUID, StudentEntity> getAllPresent(final Iterable<UUID> studentIDs) {
+    final Map<UUID, StudentEntity> present = new HashMap<>();
+    this.studentsById.getAllPresent(studentIDs).forEach((studentID, cached) -> present.put(studentID, copyOf(cached)));
+    return present;
+  }
+
+  /**
+   * Gets the generation of the cache, to be read before loading students which are then passed to {@link #put(StudentEntity, long)}.
+   *
+   * @return the generation, it changes with every eviction
+   */
+  public long getGeneration() {
+    return this.evictions.get();
+  }
+
+  /**
+   * Cache a copy of the student, unless a student was evicted since the generation was read.
+   *
+   * @param studentEntity the student entity
+   * @param generation    the generation read before the student was loaded
+   */
+  public void put(final StudentEntity studentEntity, final long generation) {
+    if (studentEntity == null || studentEntity.getStudentID() == null) {
+      return;
+    }
+    final StudentEntity copy = copyOf(studentEntity);
+    synchronized (this.evictionLock) {
+      if (this.evictions.get() != generation) {
+        log.debug("students were evicted while student :: {} was loaded, not caching it.", studentEntity.getStudentID());
+        return;
+      }
+      this.studentsById.put(copy.getStudentID(), copy);
+      if (copy.getPen() != null) {
+        this.studentIdsByPen.put(copy.getPen(), copy.getStudentID());
+      }
+    }
+  }
+
+  /**
+   * Evict the student and its PEN now and again once the current transaction commits,
+   * so a read racing with the write can not leave the old version cached.
+   *
+   * @param studentID the student id
+   * @param pen       the pen, may be null
+   */
+  public void evictAfterCommit(final UUID studentID, final String pen) {
+    this.evict(studentID, pen);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          StudentCacheService.this.evict(studentID, pen);
+        }
+      });
+    }
+  }
+
+  /**
+   * Evict the student and its PEN.
+   *
+   * @param studentID the student id, may be null
+   * @param pen       the pen, may be null
+   */
+  public void evict(final UUID studentID, final String pen) {
+    synchronized (this.evictionLock) {
+      this.evictions.incrementAndGet();
+      if (studentID != null) {
+        final StudentEntity cached = this.studentsById.getIfPresent(studentID);
+        if (cached != null && cached.getPen() != null) {
+          this.studentIdsByPen.invalidate(cached.getPen());
+        }
+        this.studentsById.invalidate(studentID);
+      }
+      if (pen != null) {
+        this.studentIdsByPen.invalidate(pen);
+      }
+    }
+  }
+
+  /**
+   * Evict the students written by another node, the payload of the choreographed event is a student or a list of students.
+   *
+   * @param choreographedEvent the choreographed event
+   */
+  public void evict(final ChoreographedEvent choreographedEvent) {
+    if (choreographedEvent == null || StringUtils.isBlank(choreographedEvent.getEventPayload())) {
+      return;
+    }
+    try {
+      final JsonNode payload = JsonUtil.mapper.readTree(choreographedEvent.getEventPayload());
+      if (payload.isArray()) {
+        payload.forEach(this::evict);
+      } else {
+        this.evict(payload);
+      }
+    } catch (final JsonProcessingException e) {
+      log.warn("could not read the students of event :: {}, clearing the student cache.", choreographedEvent.getEventID());
+      synchronized (this.evictionLock) {
+        this.evictions.incrementAndGet();
+        this.studentsById.invalidateAll();
+        this.studentIdsByPen.invalidateAll();
+      }
+    }
+  }
+
+  private void evict(final JsonNode student) {
+    final JsonNode studentID = student.get(STUDENT_ID);
+    final JsonNode pen = student.get("pen");
+    try {
+      this.evict(studentID == null || studentID.isNull() ? null : UUID.fromString(studentID.asText()), pen == null || pen.isNull() ? null : pen.asText());
+    } catch (final IllegalArgumentException e) {
+      log.debug("invalid student id in event payload :: {}", studentID);
+    }
+  }
+
+  /**
+   * All the fields of a student are immutable values, so a shallow copy is enough.
+   */
+  private static StudentEntity copyOf(final StudentEntity studentEntity) {
+    final StudentEntity copy = new StudentEntity();
+    BeanUtils.copyProperties(studentEntity, copy);
+    return copy;
+  }
+}
@@ -1,5 +1,6 @@
 package ca.bc.gov.educ.api.student.service.v1;
 
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
 import ca.bc.gov.educ.api.student.exception.InvalidPayloadException;
 import ca.bc.gov.educ.api.student.exception.errors.ApiError;
 import ca.bc.gov.educ.api.student.mappers.v1.StudentHistoryMapper;
@@ -12,13 +13,13 @@ import ca.bc.gov.educ.api.student.struct.v1.Search;
 import ca.bc.gov.educ.api.student.struct.v1.Student;
 import ca.bc.gov.educ.api.student.struct.v1.StudentHistory;
 import ca.bc.gov.educ.api.student.util.JsonUtil;
+import ca.bc.gov.educ.api.student.util.MappedPage;
+import ca.bc.gov.educ.api.student.util.SearchShape;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.AccessLevel;
 import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
-import org.jboss.threads.EnhancedQueueExecutor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -30,7 +31,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -46,25 +46,31 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
  */
 @Service
 public class StudentHistoryService {
-  private final Executor paginatedQueryExecutor = new EnhancedQueueExecutor.Builder()
-    .setThreadFactory(new ThreadFactoryBuilder().setNameFormat("async-history-pagination-query-executor-%d").build())
-    .setCorePoolSize(2).setMaximumPoolSize(10).setKeepAliveTime(Duration.ofSeconds(60)).build();
+  private final Executor paginatedQueryExecutor;
   @Getter(AccessLevel.PRIVATE)
   private final StudentHistoryRepository studentHistoryRepository;
 
   @Getter(AccessLevel.PRIVATE)
   private final CodeTableService codeTableService;
 
+  @Getter(AccessLevel.PRIVATE)
+  private final SearchMetricsService searchMetricsService;
+
   /**
    * Instantiates a new Student history service.
    *
    * @param studentHistoryRepository the student history repository
    * @param codeTableService         the code table service
+   * @param executorFactory          the executor factory
+   * @param searchMetricsService     the search metrics service
    */
   @Autowired
-  public StudentHistoryService(StudentHistoryRepository studentHistoryRepository, CodeTableService codeTableService) {
+  public StudentHistoryService(StudentHistoryRepository studentHistoryRepository, CodeTableService codeTableService, final ExecutorFactory executorFactory,
+                               final SearchMetricsService searchMetricsService) {
     this.studentHistoryRepository = studentHistoryRepository;
     this.codeTableService = codeTableService;
+    this.searchMetricsService = searchMetricsService;
+    this.paginatedQueryExecutor = executorFactory.newRequestJdbcExecutor("async-history-pagination-query-executor-%d", 2, 10);
   }
 
   /**
@@ -93,19 +99,25 @@ public class StudentHistoryService {
    * Find all completable future.
    *
    * @param studentHistorySpecs the student history specs
+   * @param searchShape         the search shape, see {@link SearchShape}
    * @param pageNumber          the page number
    * @param pageSize            the page size
    * @param sorts               the sorts
    * @return the completable future
    */
   @Transactional(propagation = Propagation.SUPPORTS)
-  public CompletableFuture<Page<StudentHistoryEntity>> findAll(Specification<StudentHistoryEntity> studentHistorySpecs, final Integer pageNumber,
+  public CompletableFuture<Page<StudentHistoryEntity>> findAll(Specification<StudentHistoryEntity> studentHistorySpecs, final String searchShape, final Integer pageNumber,
                                                                final Integer pageSize, final List<Sort.Order> sorts) {
+    final long queuedAt = System.nanoTime();
     return CompletableFuture.supplyAsync(() -> {
       Pageable paging = PageRequest.of(pageNumber, pageSize, Sort.by(sorts));
+      final long startedAt = System.nanoTime();
       try {
-        return getStudentHistoryRepository().findAll(studentHistorySpecs, paging);
+        final Page<StudentHistoryEntity> studentHistoryEntities = getStudentHistoryRepository().findAll(studentHistorySpecs, paging);
+        getSearchMetricsService().record(SearchMetricsService.STUDENT_HISTORY, searchShape, pageNumber, pageSize, queuedAt, startedAt, studentHistoryEntities);
+        return studentHistoryEntities;
       } catch (final Exception ex) {
+        getSearchMetricsService().recordFailure(SearchMetricsService.STUDENT_HISTORY, searchShape, startedAt, ex);
         throw new CompletionException(ex);
       }
     }, paginatedQueryExecutor);
@@ -174,9 +186,18 @@ public class StudentHistoryService {
         sortMap = JsonUtil.mapper.readValue(sortCriteriaJson, new TypeReference<>() {
         });
       }
-      final List<Search> searches = JsonUtil.mapper.readValue(searchCriteriaListJson, new TypeReference<>() {
-      });
-      return this.studentHistoryRepository.findDistinctStudentsByStudentHistoryCriteria(sortMap, searches, pageNumber, pageSize).map(StudentMapper.mapper::toStructure);
+      final List<Search> searches = JsonUtil.SEARCH_LIST_READER.readValue(searchCriteriaListJson);
+      final String searchShape = SearchShape.of(searches);
+      final long startedAt = System.nanoTime();
+      final Page<StudentEntity> studentEntities;
+      try {
+        studentEntities = this.studentHistoryRepository.findDistinctStudentsByStudentHistoryCriteria(sortMap, searches, pageNumber, pageSize);
+      } catch (final RuntimeException ex) {
+        this.getSearchMetricsService().recordFailure(SearchMetricsService.DISTINCT_STUDENTS_BY_HISTORY, searchShape, startedAt, ex);
+        throw ex;
+      }
+      this.getSearchMetricsService().record(SearchMetricsService.DISTINCT_STUDENTS_BY_HISTORY, searchShape, pageNumber, pageSize, startedAt, startedAt, studentEntities);
+      return new MappedPage<>(studentEntities, StudentMapper.mapper::toStructure);
     } catch (final JsonProcessingException e) {
       final ApiError error = ApiError.builder().timestamp(LocalDateTime.now()).message("Invalid json string in search criteria").status(BAD_REQUEST).build();
       throw new InvalidPayloadException(error);
@@ -0,0 +1,166 @@
+package ca.bc.gov.educ.api.student.service.v1;
+
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
+import ca.bc.gov.educ.api.student.exception.StudentRuntimeException;
+import ca.bc.gov.educ.api.student.model.v1.StudentEntity;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import ca.bc.gov.educ.api.student.repository.v1.StudentRepository;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Optional micro batching of student lookups by PEN.
+ * Lookups arriving within a small window are collected and resolved with one {@code PEN IN (...)} query,
+ * trading up to the window of latency for far fewer round trips to the DB at peak.
+ * When batching is disabled every lookup runs its own query.
+ * A lookup fails once its timeout passes, and the lookups still waiting for a batch fail when the service is closed.
+ */
+@Service
+@Slf4j
+public class StudentPenBatchLookupService {
+  private final StudentRepository studentRepository;
+  private final boolean enabled;
+  private final long windowMillis;
+  private final int maxBatchSize;
+  private final long timeoutMillis;
+  private final Executor batchQueryExecutor;
+  private final ScheduledExecutorService flushScheduler;
+  private List<PendingLookup> pendingLookups = new ArrayList<>();
+  private boolean closed;
+
+  /**
+   * Instantiates a new Student pen batch lookup service.
+   *
+   * @param studentRepository     the student repository
+   * @param applicationProperties the application properties
+   * @param executorFactory       the executor factory
+   */
+  @Autowired
+  public StudentPenBatchLookupService(final StudentRepository studentRepository, final ApplicationProperties applicationProperties, final ExecutorFactory executorFactory) {
+    this.studentRepository = studentRepository;
+    this.enabled = applicationProperties.getPenBatchLookupEnabled();
+    this.windowMillis = applicationProperties.getPenBatchLookupWindowMillis();
+    this.maxBatchSize = applicationProperties.getPenBatchLookupMaxSize();
+    this.timeoutMillis = applicationProperties.getPenBatchLookupTimeoutMillis();
+    this.batchQueryExecutor = executorFactory.newJdbcExecutor("student-pen-batch-lookup-%d", 1, 1);
+    this.flushScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("student-pen-batch-flush-%d").setDaemon(true).build());
+  }
+
+  /**
+   * Find the student by PEN, waiting for the batch the lookup is part of when batching is enabled.
+   *
+   * @param pen the pen
+   * @return the optional student entity
+   * @throws StudentRuntimeException if the lookup timed out or the service was closed before its batch was resolved
+   */
+  public Optional<StudentEntity> findStudentEntityByPen(final String pen) {
+    if (!this.enabled || pen == null) {
+      return this.studentRepository.findStudentEntityByPen(pen);
+    }
+    final PendingLookup lookup = new PendingLookup(pen, new CompletableFuture<>());
+    this.enqueue(lookup);
+    try {
+      return lookup.result.get(this.timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new StudentRuntimeException(e.getMessage());
+    } catch (final TimeoutException e) {
+      throw new StudentRuntimeException("pen lookup timed out after " + this.timeoutMillis + " ms");
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new StudentRuntimeException("pen lookup interrupted");
+    }
+  }
+
+  private void enqueue(final PendingLookup lookup) {
+    final List<PendingLookup> fullBatch;
+    synchronized (this) {
+      if (this.closed) {
+        lookup.result.completeExceptionally(new StudentRuntimeException("pen batch lookup is closed"));
+        return;
+      }
+      this.pendingLookups.add(lookup);
+      if (this.pendingLookups.size() == 1) {
+        this.flushScheduler.schedule(this::flush, this.windowMillis, TimeUnit.MILLISECONDS);
+      }
+      if (this.pendingLookups.size() < this.maxBatchSize) {
+        return;
+      }
+      fullBatch = this.drain();
+    }
+    this.submit(fullBatch);
+  }
+
+  private void flush() {
+    final List<PendingLookup> batch;
+    synchronized (this) {
+      batch = this.drain();
+    }
+    if (!batch.isEmpty()) {
+      this.submit(batch);
+    }
+  }
+
+  private void submit(final List<PendingLookup> batch) {
+    try {
+      this.batchQueryExecutor.execute(() -> this.resolve(batch));
+    } catch (final RejectedExecutionException e) {
+      batch.forEach(lookup -> lookup.result.completeExceptionally(e));
+    }
+  }
+
+  private List<PendingLookup> drain() {
+    final List<PendingLookup> batch = this.pendingLookups;
+    this.pendingLookups = new ArrayList<>();
+    return batch;
+  }
+
+  private void resolve(final List<PendingLookup> batch) {
+    try {
+      final List<String> pens = batch.stream().map(PendingLookup::pen).distinct().toList();
+      log.debug("resolving {} pen lookups with one query for {} distinct pens", batch.size(), pens.size());
+      final Map<String, StudentEntity> studentsByPen = this.studentRepository.findStudentEntityByPenIn(pens).stream()
+          .collect(Collectors.toMap(StudentEntity::getPen, Function.identity(), (first, second) -> first));
+      batch.forEach(lookup -> lookup.result.complete(Optional.ofNullable(studentsByPen.get(lookup.pen))));
+    } catch (final RuntimeException e) {
+      batch.forEach(lookup -> lookup.result.completeExceptionally(e));
+    }
+  }
+
+  /**
+   * Stop the flush scheduler and fail the lookups still waiting for a batch.
+   */
+  @PreDestroy
+  public void close() {
+    final List<PendingLookup> batch;
+    synchronized (this) {
+      this.closed = true;
+      batch = this.drain();
+    }
+    this.flushScheduler.shutdown();
+    batch.forEach(lookup -> lookup.result.completeExceptionally(new StudentRuntimeException("pen batch lookup is closed")));
+  }
+
+  private record PendingLookup(String pen, CompletableFuture<Optional<StudentEntity>> result) {
+  }
+}
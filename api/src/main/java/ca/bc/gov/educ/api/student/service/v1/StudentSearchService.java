@@ -9,11 +9,10 @@ import ca.bc.gov.educ.api.student.struct.v1.Condition;
 import ca.bc.gov.educ.api.student.struct.v1.Search;
 import ca.bc.gov.educ.api.student.struct.v1.SearchCriteria;
 import ca.bc.gov.educ.api.student.struct.v1.ValueType;
+import ca.bc.gov.educ.api.student.util.JsonUtil;
 import ca.bc.gov.educ.api.student.util.RequestUtil;
 import ca.bc.gov.educ.api.student.util.TransformUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
@@ -133,26 +132,50 @@ public class StudentSearchService {
    *
    * @param sortCriteriaJson       the sort criteria json
    * @param searchCriteriaListJson the search criteria list json
-   * @param objectMapper           the object mapper
    * @param sorts                  the sorts
    * @return the specification and sort criteria
    */
-  public Specification<StudentEntity> setSpecificationAndSortCriteria(String sortCriteriaJson, String searchCriteriaListJson, ObjectMapper objectMapper, List<Sort.Order> sorts) {
+  public Specification<StudentEntity> setSpecificationAndSortCriteria(String sortCriteriaJson, String searchCriteriaListJson, List<Sort.Order> sorts) {
+    return setSpecificationAndSortCriteria(sortCriteriaJson, readSearches(searchCriteriaListJson), sorts);
+  }
+
+  /**
+   * Sets specification and sort criteria, for searches already read with {@link #readSearches(String)}.
+   *
+   * @param sortCriteriaJson the sort criteria json
+   * @param searches         the searches
+   * @param sorts            the sorts
+   * @return the specification and sort criteria
+   */
+  public Specification<StudentEntity> setSpecificationAndSortCriteria(String sortCriteriaJson, List<Search> searches, List<Sort.Order> sorts) {
     Specification<StudentEntity> studentSpecs = null;
     try {
-      RequestUtil.getSortCriteria(sortCriteriaJson, objectMapper, sorts);
-      if (StringUtils.isNotBlank(searchCriteriaListJson)) {
-        List<Search> searches = objectMapper.readValue(searchCriteriaListJson, new TypeReference<>() {
-        });
-        int i = 0;
-        for (var search : searches) {
-          studentSpecs = getSpecifications(studentSpecs, i, search);
-          i++;
-        }
-      }
+      RequestUtil.getSortCriteria(sortCriteriaJson, JsonUtil.mapper, sorts);
     } catch (JsonProcessingException e) {
       throw new StudentRuntimeException(e.getMessage());
     }
+    int i = 0;
+    for (var search : searches) {
+      studentSpecs = getSpecifications(studentSpecs, i, search);
+      i++;
+    }
     return studentSpecs;
   }
+
+  /**
+   * Read the searches.
+   *
+   * @param searchCriteriaListJson the search criteria list json
+   * @return the searches, empty if the json is blank
+   */
+  public List<Search> readSearches(String searchCriteriaListJson) {
+    if (StringUtils.isBlank(searchCriteriaListJson)) {
+      return List.of();
+    }
+    try {
+      return JsonUtil.SEARCH_LIST_READER.readValue(searchCriteriaListJson);
+    } catch (JsonProcessingException e) {
+      throw new StudentRuntimeException(e.getMessage());
+    }
+  }
 }
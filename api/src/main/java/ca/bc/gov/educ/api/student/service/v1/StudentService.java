@@ -1,9 +1,11 @@
 package ca.bc.gov.educ.api.student.service.v1;
 
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
 import ca.bc.gov.educ.api.student.constant.EventOutcome;
 import ca.bc.gov.educ.api.student.constant.EventType;
 import ca.bc.gov.educ.api.student.exception.EntityNotFoundException;
 import ca.bc.gov.educ.api.student.mappers.v1.StudentMapper;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
 import ca.bc.gov.educ.api.student.model.v1.*;
 import ca.bc.gov.educ.api.student.repository.v1.StudentEventRepository;
 import ca.bc.gov.educ.api.student.repository.v1.StudentRepository;
@@ -12,13 +14,11 @@ import ca.bc.gov.educ.api.student.struct.v1.StudentUpdate;
 import ca.bc.gov.educ.api.student.util.JsonUtil;
 import ca.bc.gov.educ.api.student.util.TransformUtil;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.tuple.Pair;
-import org.jboss.threads.EnhancedQueueExecutor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -30,7 +30,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -40,9 +39,11 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 
 import static ca.bc.gov.educ.api.student.constant.EventOutcome.STUDENT_CREATED;
+import static ca.bc.gov.educ.api.student.constant.EventOutcome.STUDENT_DELETED;
 import static ca.bc.gov.educ.api.student.constant.EventOutcome.STUDENT_UPDATED;
 import static ca.bc.gov.educ.api.student.constant.EventStatus.DB_COMMITTED;
 import static ca.bc.gov.educ.api.student.constant.EventType.CREATE_STUDENT;
+import static ca.bc.gov.educ.api.student.constant.EventType.DELETE_STUDENT;
 import static ca.bc.gov.educ.api.student.constant.EventType.UPDATE_STUDENT;
 import static lombok.AccessLevel.PRIVATE;
 
@@ -55,9 +56,7 @@ import static lombok.AccessLevel.PRIVATE;
 @Slf4j
 public class StudentService {
   private static final String STUDENT_ID_ATTRIBUTE = "studentID";
-  private final Executor paginatedQueryExecutor = new EnhancedQueueExecutor.Builder()
-    .setThreadFactory(new ThreadFactoryBuilder().setNameFormat("async-pagination-query-executor-%d").build())
-    .setCorePoolSize(2).setMaximumPoolSize(10).setKeepAliveTime(Duration.ofSeconds(60)).build();
+  private final Executor paginatedQueryExecutor;
   @Getter(PRIVATE)
   private final StudentEventRepository studentEventRepository;
 
@@ -71,6 +70,12 @@ public class StudentService {
   @Getter(AccessLevel.PRIVATE)
   private final CodeTableService codeTableService;
 
+  @Getter(AccessLevel.PRIVATE)
+  private final StudentCacheService studentCacheService;
+
+  @Getter(AccessLevel.PRIVATE)
+  private final SearchMetricsService searchMetricsService;
+
   /**
    * Instantiates a new Student service.
    *
@@ -78,14 +83,21 @@ public class StudentService {
    * @param repository             the repository
    * @param codeTableService       the code table service
    * @param studentHistoryService  the student history service
+   * @param executorFactory        the executor factory
+   * @param studentCacheService    the student cache service
+   * @param searchMetricsService   the search metrics service
    */
   @Autowired
   public StudentService(StudentEventRepository studentEventRepository, final StudentRepository repository,
-                        CodeTableService codeTableService, StudentHistoryService studentHistoryService) {
+                        CodeTableService codeTableService, StudentHistoryService studentHistoryService, final ExecutorFactory executorFactory,
+                        final StudentCacheService studentCacheService, final SearchMetricsService searchMetricsService) {
     this.studentEventRepository = studentEventRepository;
     this.repository = repository;
     this.codeTableService = codeTableService;
     this.studentHistoryService = studentHistoryService;
+    this.paginatedQueryExecutor = executorFactory.newRequestJdbcExecutor("async-pagination-query-executor-%d", 2, 10);
+    this.studentCacheService = studentCacheService;
+    this.searchMetricsService = searchMetricsService;
   }
 
   /**
@@ -96,7 +108,7 @@ public class StudentService {
    * @throws EntityNotFoundException if the entity is not found in the  database by its GUID.
    */
   public StudentEntity retrieveStudent(UUID studentID) {
-    Optional<StudentEntity> result = repository.findById(studentID);
+    Optional<StudentEntity> result = studentCacheService.findById(studentID, repository::findById);
     if (result.isPresent()) {
       return result.get();
     } else {
@@ -114,6 +126,17 @@ public class StudentService {
     return repository.findStudentEntityByPen(pen);
   }
 
+  /**
+   * Search for StudentEntity by PEN, answered from the node local student cache when possible.
+   * Not for validations which must see the latest committed state, use {@link #retrieveStudentByPen(String)} for those.
+   *
+   * @param pen the unique PEN for a given student.
+   * @return the Student entity if found.
+   */
+  public Optional<StudentEntity> retrieveCachedStudentByPen(String pen) {
+    return studentCacheService.findByPen(pen, repository::findStudentEntityByPen);
+  }
+
   /**
    * Creates a StudentEntity
    *
@@ -126,6 +149,7 @@ public class StudentService {
     var student = StudentMapper.mapper.toModel(studentCreate);
     TransformUtil.uppercaseFields(student);
     repository.save(student);
+    studentCacheService.evictAfterCommit(student.getStudentID(), student.getPen());
     studentHistoryService.createStudentHistory(student, studentCreate.getHistoryActivityCode(), student.getCreateUser(), false);
     final StudentEvent studentEvent =
       createStudentEvent(studentCreate.getCreateUser(), studentCreate.getUpdateUser(), JsonUtil.getJsonStringFromObject(StudentMapper.mapper.toStructure(student, studentCreate.getHistoryActivityCode())), CREATE_STUDENT, STUDENT_CREATED);
@@ -165,6 +189,7 @@ public class StudentService {
 
     if (curStudentEntityOptional.isPresent()) {
       final StudentEntity currentStudentEntity = curStudentEntityOptional.get();
+      studentCacheService.evictAfterCommit(currentStudentEntity.getStudentID(), currentStudentEntity.getPen());
       BeanUtils.copyProperties(student, currentStudentEntity, "createDate", "createUser"); // update current student entity with incoming payload ignoring the fields.
       TransformUtil.uppercaseFields(currentStudentEntity); // convert the input to upper case.
       studentHistoryService.createStudentHistory(currentStudentEntity, studentUpdate.getHistoryActivityCode(), currentStudentEntity.getUpdateUser(), false);
@@ -179,34 +204,47 @@ public class StudentService {
   }
 
   /**
-   * Delete by id.
+   * Delete by id, the student deleted event is saved to the outbox so the other nodes evict the student from their cache.
    *
    * @param id the id
+   * @return the student deleted event
+   * @throws JsonProcessingException the json processing exception
    */
   @Transactional(propagation = Propagation.MANDATORY)
-  public void deleteById(UUID id) {
+  public StudentEvent deleteById(UUID id) throws JsonProcessingException {
     val entityOptional = getRepository().findById(id);
     val entity = entityOptional.orElseThrow(() -> new EntityNotFoundException(StudentEntity.class, STUDENT_ID_ATTRIBUTE, id.toString()));
     getStudentHistoryService().deleteByStudentID(id);
     getRepository().delete(entity);
+    getStudentCacheService().evictAfterCommit(id, entity.getPen());
+    final StudentEvent studentEvent =
+      createStudentEvent(ApplicationProperties.STUDENT_API, ApplicationProperties.STUDENT_API, JsonUtil.getJsonStringFromObject(StudentMapper.mapper.toStructure(entity)), DELETE_STUDENT, STUDENT_DELETED);
+    getStudentEventRepository().save(studentEvent);
+    return studentEvent;
   }
 
   /**
    * Find all completable future.
    *
    * @param studentSpecs the student specs
+   * @param searchShape  the search shape, see {@link ca.bc.gov.educ.api.student.util.SearchShape}
    * @param pageNumber   the page number
    * @param pageSize     the page size
    * @param sorts        the sorts
    * @return the completable future
    */
   @Transactional(propagation = Propagation.SUPPORTS)
-  public CompletableFuture<Page<StudentEntity>> findAll(Specification<StudentEntity> studentSpecs, final Integer pageNumber, final Integer pageSize, final List<Sort.Order> sorts) {
+  public CompletableFuture<Page<StudentEntity>> findAll(Specification<StudentEntity> studentSpecs, final String searchShape, final Integer pageNumber, final Integer pageSize, final List<Sort.Order> sorts) {
+    final long queuedAt = System.nanoTime();
     return CompletableFuture.supplyAsync(() -> {
       Pageable paging = PageRequest.of(pageNumber, pageSize, Sort.by(sorts));
+      final long startedAt = System.nanoTime();
       try {
-        return getRepository().findAll(studentSpecs, paging);
+        final Page<StudentEntity> studentEntities = getRepository().findAll(studentSpecs, paging);
+        getSearchMetricsService().record(SearchMetricsService.STUDENTS, searchShape, pageNumber, pageSize, queuedAt, startedAt, studentEntities);
+        return studentEntities;
       } catch (final Exception ex) {
+        getSearchMetricsService().recordFailure(SearchMetricsService.STUDENTS, searchShape, startedAt, ex);
         throw new CompletionException(ex);
       }
     }, paginatedQueryExecutor);
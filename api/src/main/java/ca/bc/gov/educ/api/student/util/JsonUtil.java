@@ -1,15 +1,52 @@
 package ca.bc.gov.educ.api.student.util;
 
+import ca.bc.gov.educ.api.student.struct.v1.Event;
+import ca.bc.gov.educ.api.student.struct.v1.Search;
+import ca.bc.gov.educ.api.student.struct.v1.Student;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * The type Json util.
+ * Holds the one mapper used for NATS payloads, event payloads and search criteria, with the Blackbird module which replaces
+ * reflective property access with generated lambdas. Readers and writers for the hot payload types are resolved once up front,
+ * so a call does not look the root serializer up again.
  */
 public class JsonUtil {
-  public static final ObjectMapper mapper = new ObjectMapper();
+  public static final ObjectMapper mapper = JsonMapper.builder().addModule(new BlackbirdModule()).build();
+  /**
+   * The reader of events.
+   */
+  public static final ObjectReader EVENT_READER = mapper.readerFor(Event.class);
+  /**
+   * The writer of events.
+   */
+  public static final ObjectWriter EVENT_WRITER = mapper.writerFor(Event.class);
+  /**
+   * The reader of students.
+   */
+  public static final ObjectReader STUDENT_READER = mapper.readerFor(Student.class);
+  /**
+   * The writer of students.
+   */
+  public static final ObjectWriter STUDENT_WRITER = mapper.writerFor(Student.class);
+  /**
+   * The reader of search criteria lists.
+   */
+  public static final ObjectReader SEARCH_LIST_READER = mapper.readerFor(new TypeReference<List<Search>>() {
+  });
+  /**
+   * The writer of mapped pages, each row is converted as it is written into jackson's recycled buffers.
+   */
+  public static final ObjectWriter PAGE_WRITER = mapper.writerFor(MappedPage.class);
 
   private JsonUtil() {
   }
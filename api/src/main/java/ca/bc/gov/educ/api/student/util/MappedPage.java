@@ -0,0 +1,120 @@
+package ca.bc.gov.educ.api.student.util;
+
+import com.google.common.collect.Lists;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page whose content is converted one row at a time while it is read, instead of up front like {@link Page#map(Function)}.
+ * When a mapped page is serialized each entity is converted and written before the next one is converted, so no list of the
+ * converted structures is built. It serializes to the same json properties as the page returned by spring data.
+ * The content is a view, every read converts again, so it is meant to be written once.
+ *
+ * @param <E> the entity type
+ * @param <S> the structure type
+ */
+public final class MappedPage<E, S> implements Page<S> {
+  private final Page<E> page;
+  private final Function<? super E, ? extends S> converter;
+
+  /**
+   * Instantiates a new Mapped page.
+   *
+   * @param page      the page of entities
+   * @param converter the converter of an entity into its structure
+   */
+  public MappedPage(final Page<E> page, final Function<? super E, ? extends S> converter) {
+    this.page = page;
+    this.converter = converter;
+  }
+
+  @Override
+  public int getTotalPages() {
+    return this.page.getTotalPages();
+  }
+
+  @Override
+  public long getTotalElements() {
+    return this.page.getTotalElements();
+  }
+
+  @Override
+  public <U> Page<U> map(final Function<? super S, ? extends U> nextConverter) {
+    return new MappedPage<E, U>(this.page, entity -> nextConverter.apply(this.converter.apply(entity)));
+  }
+
+  @Override
+  public int getNumber() {
+    return this.page.getNumber();
+  }
+
+  @Override
+  public int getSize() {
+    return this.page.getSize();
+  }
+
+  @Override
+  public int getNumberOfElements() {
+    return this.page.getNumberOfElements();
+  }
+
+  @Override
+  public List<S> getContent() {
+    return Lists.transform(this.page.getContent(), this.converter::apply);
+  }
+
+  @Override
+  public boolean hasContent() {
+    return this.page.hasContent();
+  }
+
+  @Override
+  public Sort getSort() {
+    return this.page.getSort();
+  }
+
+  @Override
+  public boolean isFirst() {
+    return this.page.isFirst();
+  }
+
+  @Override
+  public boolean isLast() {
+    return this.page.isLast();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return this.page.hasNext();
+  }
+
+  @Override
+  public boolean hasPrevious() {
+    return this.page.hasPrevious();
+  }
+
+  @Override
+  public Pageable getPageable() {
+    return this.page.getPageable();
+  }
+
+  @Override
+  public Pageable nextPageable() {
+    return this.page.nextPageable();
+  }
+
+  @Override
+  public Pageable previousPageable() {
+    return this.page.previousPageable();
+  }
+
+  @Override
+  public Iterator<S> iterator() {
+    return this.getContent().iterator();
+  }
+}
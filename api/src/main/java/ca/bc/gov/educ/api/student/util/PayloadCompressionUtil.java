@@ -0,0 +1,101 @@
+package ca.bc.gov.educ.api.student.util;
+
+import ca.bc.gov.educ.api.student.exception.StudentRuntimeException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The type Payload compression util.
+ * Compresses event payloads with deflate before they are stored in the STUDENT_EVENT table.
+ * Compressed payloads are prefixed with a magic header, payloads without the header are returned as is,
+ * so rows written before compression was introduced are still readable.
+ */
+public class PayloadCompressionUtil {
+  /**
+   * The magic header, a leading NUL byte never starts a json or plain text payload.
+   */
+  static final byte[] MAGIC_HEADER = {0x00, 'D', 'F', 0x01};
+  /**
+   * Payloads smaller than this are stored uncompressed, deflate does not pay off for them.
+   */
+  public static final int MIN_COMPRESSION_SIZE = 512;
+  private static final int BUFFER_SIZE = 4096;
+
+  private PayloadCompressionUtil() {
+  }
+
+  /**
+   * Compress the payload if it is large enough.
+   *
+   * @param payload the raw payload
+   * @return the compressed payload with the magic header, or the raw payload if it is too small or does not shrink
+   */
+  public static byte[] compress(final byte[] payload) {
+    if (payload == null || payload.length < MIN_COMPRESSION_SIZE) {
+      return payload;
+    }
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(payload);
+      deflater.finish();
+      final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(payload.length / 2);
+      outputStream.write(MAGIC_HEADER, 0, MAGIC_HEADER.length);
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      while (!deflater.finished()) {
+        final int count = deflater.deflate(buffer);
+        outputStream.write(buffer, 0, count);
+      }
+      if (outputStream.size() >= payload.length) {
+        return payload;
+      }
+      return outputStream.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Decompress the payload if it carries the magic header.
+   *
+   * @param payload the stored payload
+   * @return the raw payload
+   */
+  public static byte[] decompress(final byte[] payload) {
+    if (!isCompressed(payload)) {
+      return payload;
+    }
+    final Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(payload, MAGIC_HEADER.length, payload.length - MAGIC_HEADER.length);
+      final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(payload.length * 4);
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      while (!inflater.finished()) {
+        final int count = inflater.inflate(buffer);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new StudentRuntimeException("Truncated compressed event payload.");
+        }
+        outputStream.write(buffer, 0, count);
+      }
+      return outputStream.toByteArray();
+    } catch (final DataFormatException e) {
+      throw new StudentRuntimeException("Invalid compressed event payload :: " + e.getMessage());
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * Is compressed boolean.
+   *
+   * @param payload the stored payload
+   * @return true if the payload starts with the magic header
+   */
+  public static boolean isCompressed(final byte[] payload) {
+    return payload != null && payload.length > MAGIC_HEADER.length
+        && Arrays.equals(payload, 0, MAGIC_HEADER.length, MAGIC_HEADER, 0, MAGIC_HEADER.length);
+  }
+}
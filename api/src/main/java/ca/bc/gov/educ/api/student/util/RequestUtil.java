@@ -60,6 +60,26 @@ public class RequestUtil {
     baseRequest.setUpdateDate(LocalDateTime.now().toString());
   }
 
+  /**
+   * Check the If-None-Match header of a request against the current ETag, weak ETags compare equal to their strong form.
+   *
+   * @param ifNoneMatch the If-None-Match header, may be null
+   * @param eTag        the current ETag, quoted
+   * @return true if the client already has the current representation
+   */
+  public static boolean isNotModified(String ifNoneMatch, String eTag) {
+    if (StringUtils.isBlank(ifNoneMatch) || eTag == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String trimmed = StringUtils.removeStart(candidate.trim(), "W/");
+      if ("*".equals(trimmed) || eTag.equals(trimmed)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Get the Sort.Order list from JSON string
    *
@@ -0,0 +1,60 @@
+package ca.bc.gov.educ.api.student.util;
+
+import ca.bc.gov.educ.api.student.struct.v1.Condition;
+import ca.bc.gov.educ.api.student.struct.v1.Search;
+import ca.bc.gov.educ.api.student.struct.v1.SearchCriteria;
+
+import java.util.List;
+
+/**
+ * The shape of a search, its keys, operations and conditions without the values, like {@code (legalLastName eq and dob btn) or (pen eq)}.
+ * Searches of the same shape run the same query plan, so the shape is what the search metrics and the slow search log are grouped by.
+ */
+public final class SearchShape {
+  /**
+   * The shape of a search without criteria.
+   */
+  public static final String NONE = "none";
+
+  private SearchShape() {
+  }
+
+  /**
+   * Gets the shape of the searches.
+   *
+   * @param searches the searches, may be null
+   * @return the shape
+   */
+  public static String of(final List<Search> searches) {
+    if (searches == null || searches.isEmpty()) {
+      return NONE;
+    }
+    final StringBuilder shape = new StringBuilder(64);
+    for (int i = 0; i < searches.size(); i++) {
+      final Search search = searches.get(i);
+      if (i > 0) {
+        shape.append(' ').append(condition(search.getCondition())).append(' ');
+      }
+      shape.append('(');
+      final List<SearchCriteria> criteriaList = search.getSearchCriteriaList();
+      if (criteriaList != null) {
+        for (int j = 0; j < criteriaList.size(); j++) {
+          final SearchCriteria criteria = criteriaList.get(j);
+          if (j > 0) {
+            shape.append(' ').append(condition(criteria.getCondition())).append(' ');
+          }
+          shape.append(criteria.getKey()).append(' ').append(criteria.getOperation());
+        }
+      }
+      shape.append(')');
+    }
+    return shape.toString();
+  }
+
+  /**
+   * Anything but AND is applied as OR by the specifications.
+   */
+  private static String condition(final Condition condition) {
+    return condition == Condition.AND ? "and" : "or";
+  }
+}
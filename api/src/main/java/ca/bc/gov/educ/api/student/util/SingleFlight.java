@@ -0,0 +1,70 @@
+package ca.bc.gov.educ.api.student.util;
+
+import ca.bc.gov.educ.api.student.exception.StudentRuntimeException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key, the first caller runs the load and the callers arriving while it is running share its result.
+ * Nothing is cached, a caller arriving after the load finished runs a new load.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class SingleFlight<K, V> {
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Load the value for the key, or wait for the load already running for the key.
+   *
+   * @param key    the key
+   * @param loader the loader
+   * @return the value
+   */
+  public V load(final K key, final Supplier<V> loader) {
+    if (key == null) {
+      return loader.get();
+    }
+    final CompletableFuture<V> future = new CompletableFuture<>();
+    final CompletableFuture<V> running = this.inFlight.putIfAbsent(key, future);
+    if (running != null) {
+      return join(running);
+    }
+    try {
+      final V value = loader.get();
+      future.complete(value);
+      return value;
+    } catch (final RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      this.inFlight.remove(key, future);
+    }
+  }
+
+  /**
+   * Gets the number of callers waiting for the load running for the key.
+   *
+   * @param key the key
+   * @return the waiting caller count, zero when no load is running
+   */
+  int getWaitingCount(final K key) {
+    final CompletableFuture<V> running = this.inFlight.get(key);
+    return running == null ? 0 : running.getNumberOfDependents();
+  }
+
+  private static <V> V join(final CompletableFuture<V> running) {
+    try {
+      return running.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new StudentRuntimeException(e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package ca.bc.gov.educ.api.student.benchmark;
+
+import ca.bc.gov.educ.api.student.constant.EventOutcome;
+import ca.bc.gov.educ.api.student.constant.EventType;
+import ca.bc.gov.educ.api.student.mappers.v1.StudentMapper;
+import ca.bc.gov.educ.api.student.model.v1.StudentEntity;
+import ca.bc.gov.educ.api.student.struct.v1.Event;
+import ca.bc.gov.educ.api.student.struct.v1.Search;
+import ca.bc.gov.educ.api.student.struct.v1.Student;
+import ca.bc.gov.educ.api.student.util.JsonUtil;
+import ca.bc.gov.educ.api.student.util.MappedPage;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the shared mapper and its cached readers and writers with a plain object mapper, for the payloads on the hot paths:
+ * the NATS events, the student of a GET_STUDENT reply, the search criteria of the paginated searches and a page of students, mapped up front or while it is written.
+ * Run with {@code mvn test-compile exec:exec@benchmarks -Djmh.includes=JsonPayloadBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonPayloadBenchmark {
+  private static final String SEARCH_CRITERIA = "[{\"condition\":null,\"searchCriteriaList\":[{\"key\":\"legalLastName\",\"operation\":\"starts_with\",\"value\":\"WAY\",\"valueType\":\"STRING\",\"condition\":\"AND\"},"
+      + "{\"key\":\"dob\",\"operation\":\"eq\",\"value\":\"1907-05-26\",\"valueType\":\"DATE\",\"condition\":\"AND\"}]}]";
+  private final ObjectMapper plainMapper = new ObjectMapper();
+  private Student student;
+  private Event event;
+  private byte[] eventBytes;
+  private Page<StudentEntity> page;
+
+  @Setup
+  public void setup() throws IOException {
+    this.student = Student.builder().studentID(UUID.randomUUID().toString()).pen("123456789").legalFirstName("JOHN").legalMiddleNames("DUKE").legalLastName("WAYNE")
+        .dob("1907-05-26").sexCode("M").genderCode("M").usualFirstName("JOHNNY").usualLastName("WAYNE").email("theduke@someplace.com").emailVerified("Y")
+        .demogCode("A").statusCode("A").postalCode("V8W2E1").gradeCode("12").mincode("12345678").localID("1234").createUser("TEST").updateUser("TEST").build();
+    this.event = Event.builder().sagaId(UUID.randomUUID()).eventType(EventType.GET_STUDENT).eventOutcome(EventOutcome.STUDENT_FOUND)
+        .eventPayload(JsonUtil.getJsonStringFromObject(this.student)).build();
+    this.eventBytes = JsonUtil.getJsonBytesFromObject(this.event);
+    final StudentEntity studentEntity = StudentMapper.mapper.toModel(this.student);
+    this.page = new PageImpl<>(IntStream.range(0, 100).mapToObj(i -> studentEntity).toList(), PageRequest.of(0, 100), 1000);
+  }
+
+  @Benchmark
+  public Event readEventPlainMapper() throws IOException {
+    return this.plainMapper.readValue(this.eventBytes, Event.class);
+  }
+
+  @Benchmark
+  public Event readEventCachedReader() throws IOException {
+    return JsonUtil.EVENT_READER.readValue(this.eventBytes);
+  }
+
+  @Benchmark
+  public byte[] writeEventPlainMapper() throws IOException {
+    return this.plainMapper.writeValueAsBytes(this.event);
+  }
+
+  @Benchmark
+  public byte[] writeEventCachedWriter() throws IOException {
+    return JsonUtil.EVENT_WRITER.writeValueAsBytes(this.event);
+  }
+
+  @Benchmark
+  public byte[] writeStudentPlainMapper() throws IOException {
+    return this.plainMapper.writeValueAsBytes(this.student);
+  }
+
+  @Benchmark
+  public byte[] writeStudentCachedWriter() throws IOException {
+    return JsonUtil.STUDENT_WRITER.writeValueAsBytes(this.student);
+  }
+
+  @Benchmark
+  public List<Search> readSearchCriteriaPlainMapper() throws IOException {
+    return this.plainMapper.readValue(SEARCH_CRITERIA, new TypeReference<>() {
+    });
+  }
+
+  @Benchmark
+  public List<Search> readSearchCriteriaCachedReader() throws IOException {
+    return JsonUtil.SEARCH_LIST_READER.readValue(SEARCH_CRITERIA);
+  }
+
+  @Benchmark
+  public byte[] writeMappedUpFrontPagePlainMapper() throws IOException {
+    return this.plainMapper.writeValueAsBytes(this.page.map(StudentMapper.mapper::toStructure));
+  }
+
+  @Benchmark
+  public byte[] writeMappedPageCachedWriter() throws IOException {
+    return JsonUtil.PAGE_WRITER.writeValueAsBytes(new MappedPage<>(this.page, StudentMapper.mapper::toStructure));
+  }
+}
@@ -0,0 +1,128 @@
+package ca.bc.gov.educ.api.student.benchmark;
+
+import ca.bc.gov.educ.api.student.filter.Converters;
+import ca.bc.gov.educ.api.student.filter.FilterCriteria;
+import ca.bc.gov.educ.api.student.filter.FilterOperation;
+import ca.bc.gov.educ.api.student.filter.FilterSpecifications;
+import ca.bc.gov.educ.api.student.filter.StudentFilterSpecs;
+import ca.bc.gov.educ.api.student.model.v1.StudentEntity;
+import ca.bc.gov.educ.api.student.service.v1.StudentSearchService;
+import ca.bc.gov.educ.api.student.struct.v1.Search;
+import ca.bc.gov.educ.api.student.util.JsonUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.IOException;
+import java.time.chrono.ChronoLocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The search front end, everything done to a search request before the query runs: reading the criteria and building the specification
+ * of a student search, and the filter criteria and converters under it. The where clause of a distinct students by history search is
+ * benchmarked next to its builder, in StudentHistoryWhereClauseBenchmark.
+ * The search benchmarks run over the criteria shapes the clients send, from a PEN lookup to a demographic match with an OR group.
+ * The gc profiler of the benchmarks execution reports the allocation rate per operation next to the throughput.
+ * Run with {@code mvn test-compile exec:exec@benchmarks -Djmh.includes=SearchSpecificationBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchSpecificationBenchmark {
+  private static final String SORT_CRITERIA = "{\"legalLastName\":\"ASC\",\"legalFirstName\":\"ASC\",\"dob\":\"DESC\"}";
+  /**
+   * The search criteria json of each criteria shape.
+   */
+  public static final Map<String, String> SEARCH_CRITERIA = Map.of(
+      "pen", "[{\"searchCriteriaList\":[{\"key\":\"pen\",\"operation\":\"eq\",\"value\":\"123456789\",\"valueType\":\"STRING\"}]}]",
+      "demographics", "[{\"searchCriteriaList\":[{\"key\":\"legalLastName\",\"operation\":\"starts_with\",\"value\":\"wayne\",\"valueType\":\"STRING\",\"condition\":\"AND\"},"
+          + "{\"key\":\"legalFirstName\",\"operation\":\"starts_with\",\"value\":\"john\",\"valueType\":\"STRING\",\"condition\":\"AND\"},"
+          + "{\"key\":\"dob\",\"operation\":\"eq\",\"value\":\"1907-05-26\",\"valueType\":\"DATE\",\"condition\":\"AND\"},"
+          + "{\"key\":\"sexCode\",\"operation\":\"eq\",\"value\":\"M\",\"valueType\":\"STRING\",\"condition\":\"AND\"}]}]",
+      "dobRangeOrSchool", "[{\"searchCriteriaList\":[{\"key\":\"dob\",\"operation\":\"btn\",\"value\":\"2005-01-01,2006-12-31\",\"valueType\":\"DATE\",\"condition\":\"AND\"},"
+          + "{\"key\":\"postalCode\",\"operation\":\"starts_with\",\"value\":\"V8W\",\"valueType\":\"STRING\",\"condition\":\"AND\"}]},"
+          + "{\"condition\":\"OR\",\"searchCriteriaList\":[{\"key\":\"mincode\",\"operation\":\"eq\",\"value\":\"12345678\",\"valueType\":\"STRING\",\"condition\":\"AND\"},"
+          + "{\"key\":\"statusCode\",\"operation\":\"in\",\"value\":\"A,M,D\",\"valueType\":\"STRING\",\"condition\":\"AND\"},"
+          + "{\"key\":\"localID\",\"operation\":\"like\",\"value\":\"12\",\"valueType\":\"STRING\",\"condition\":\"AND\"}]}]"
+  );
+  private static final String STUDENT_ID = UUID.randomUUID().toString();
+  private static final String STUDENT_IDS = String.join(",", STUDENT_ID, UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+      UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+  private Converters converters;
+
+  @Setup
+  public void setup() {
+    this.converters = new Converters();
+    this.converters.init();
+  }
+
+  @Benchmark
+  public Specification<StudentEntity> readCriteriaAndBuildSpecification(final CriteriaShape criteriaShape) {
+    final List<Sort.Order> sorts = new ArrayList<>();
+    return criteriaShape.studentSearchService.setSpecificationAndSortCriteria(SORT_CRITERIA, criteriaShape.searchCriteriaJson, sorts);
+  }
+
+  @Benchmark
+  public Specification<StudentEntity> buildSpecification(final CriteriaShape criteriaShape) {
+    final List<Sort.Order> sorts = new ArrayList<>();
+    return criteriaShape.studentSearchService.setSpecificationAndSortCriteria(null, criteriaShape.searches, sorts);
+  }
+
+  @Benchmark
+  public FilterCriteria<String> filterCriteriaStringEqual() {
+    return new FilterCriteria<>("pen", "123456789", FilterOperation.EQUAL, this.converters.<String>getFunction(String.class));
+  }
+
+  @Benchmark
+  public FilterCriteria<ChronoLocalDate> filterCriteriaDateBetween() {
+    return new FilterCriteria<>("dob", "2005-01-01,2006-12-31", FilterOperation.BETWEEN, this.converters.<ChronoLocalDate>getFunction(ChronoLocalDate.class));
+  }
+
+  @Benchmark
+  public FilterCriteria<UUID> filterCriteriaUUIDIn() {
+    return new FilterCriteria<>("studentID", STUDENT_IDS, FilterOperation.IN, this.converters.<UUID>getFunction(UUID.class));
+  }
+
+  @Benchmark
+  public ChronoLocalDate convertDate() {
+    final Function<String, ChronoLocalDate> converter = this.converters.getFunction(ChronoLocalDate.class);
+    return converter.apply("1907-05-26");
+  }
+
+  @Benchmark
+  public UUID convertUUID() {
+    final Function<String, UUID> converter = this.converters.getFunction(UUID.class);
+    return converter.apply(STUDENT_ID);
+  }
+
+  /**
+   * A criteria shape of the search benchmarks, the benchmarks which do not take it run once instead of once per shape.
+   */
+  @State(Scope.Benchmark)
+  public static class CriteriaShape {
+    @Param({"pen", "demographics", "dobRangeOrSchool"})
+    private String shape;
+    private String searchCriteriaJson;
+    private List<Search> searches;
+    private StudentSearchService studentSearchService;
+
+    @Setup
+    public void setup() throws IOException {
+      final Converters converters = new Converters();
+      converters.init();
+      this.studentSearchService = new StudentSearchService(new StudentFilterSpecs(new FilterSpecifications<>(), new FilterSpecifications<>(), new FilterSpecifications<>(),
+          new FilterSpecifications<>(), new FilterSpecifications<>(), new FilterSpecifications<>(), converters));
+      this.searchCriteriaJson = SEARCH_CRITERIA.get(this.shape);
+      this.searches = JsonUtil.SEARCH_LIST_READER.readValue(this.searchCriteriaJson);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package ca.bc.gov.educ.api.student.config;
+
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExecutorFactoryTest {
+  private ExecutorFactory executorFactory;
+
+  @Before
+  public void before() {
+    final ApplicationProperties applicationProperties = mock(ApplicationProperties.class);
+    when(applicationProperties.getHikariMaximumPoolSize()).thenReturn(2);
+    when(applicationProperties.getShutdownTimeoutSeconds()).thenReturn(1);
+    this.executorFactory = new ExecutorFactory(applicationProperties, new SimpleMeterRegistry(), new ShutdownDeadline(applicationProperties));
+  }
+
+  @Test
+  public void testShutdown_givenQueuedTasks_shouldRunThemBeforeReturning() {
+    final ExecutorService executor = this.executorFactory.newJdbcExecutor("test-pool-%d", 1, 1);
+    final AtomicInteger completed = new AtomicInteger();
+    for (int i = 0; i < 3; i++) {
+      executor.execute(completed::incrementAndGet);
+    }
+
+    this.executorFactory.shutdown();
+
+    assertThat(executor.isTerminated()).isTrue();
+    assertThat(completed.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void testShutdown_givenTaskRunningPastTheDeadline_shouldInterruptIt() throws InterruptedException {
+    final ExecutorService executor = this.executorFactory.newExecutor("test-pool-%d", 1, 1);
+    final CountDownLatch started = new CountDownLatch(1);
+    final AtomicBoolean interrupted = new AtomicBoolean();
+    executor.execute(() -> {
+      started.countDown();
+      try {
+        Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+      } catch (final InterruptedException e) {
+        interrupted.set(true);
+      }
+    });
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    this.executorFactory.shutdown();
+
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(interrupted.get()).isTrue();
+  }
+
+  @Test
+  public void testJdbcExecutors_givenMoreThreadsThanConnections_shouldRunNoMoreQueriesThanConnectionsAtOnce() throws InterruptedException {
+    final ExecutorService jdbcExecutor = this.executorFactory.newJdbcExecutor("test-jdbc-pool-%d", 2, 2);
+    final ExecutorService requestJdbcExecutor = this.executorFactory.newRequestJdbcExecutor("test-request-jdbc-pool-%d", 2, 2);
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final CountDownLatch done = new CountDownLatch(8);
+    final Runnable query = () -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(20);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      running.decrementAndGet();
+      done.countDown();
+    };
+    for (int i = 0; i < 4; i++) {
+      jdbcExecutor.execute(query);
+      requestJdbcExecutor.execute(query);
+    }
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(maxRunning.get()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,32 @@
+package ca.bc.gov.educ.api.student.config;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@SpringBootTest
+public class StudentMVCConfigTest {
+  @Autowired
+  private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+
+  @Test
+  public void testExtendMessageConverters_givenDefaultSmileConverter_shouldReplaceItWithTheSpringJacksonOne() {
+    final List<MappingJackson2SmileHttpMessageConverter> smileConverters = this.requestMappingHandlerAdapter.getMessageConverters().stream()
+        .filter(MappingJackson2SmileHttpMessageConverter.class::isInstance).map(MappingJackson2SmileHttpMessageConverter.class::cast).toList();
+
+    assertThat(smileConverters).hasSize(1);
+    assertThat(smileConverters.get(0).getObjectMapper().isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)).isFalse();
+  }
+}
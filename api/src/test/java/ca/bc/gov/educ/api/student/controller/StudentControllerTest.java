@@ -12,6 +12,7 @@ import ca.bc.gov.educ.api.student.util.TransformUtil;
 import ca.bc.gov.educ.api.student.validator.StudentPayloadValidator;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import lombok.val;
 import org.junit.After;
 import org.junit.Before;
@@ -22,6 +23,7 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.test.context.ActiveProfiles;
@@ -39,6 +41,8 @@ import java.util.stream.Collectors;
 import static ca.bc.gov.educ.api.student.constant.v1.URL.*;
 import static ca.bc.gov.educ.api.student.struct.v1.Condition.AND;
 import static ca.bc.gov.educ.api.student.struct.v1.Condition.OR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
@@ -46,6 +50,7 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oidcLogin;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -72,6 +77,7 @@ public class StudentControllerTest {
     "FORBIRTH|Foreign Birth Certificate|Foreign Birth Certificate (with English translation)|160|2020-01-01|2099-12-31|IDIR/GRCHWELO|2019-12-20|IDIR/GRCHWELO|2019-12-20\n" +
     "OTHER|Other|Other document type|170|2020-01-01|2099-12-31|IDIR/GRCHWELO|2019-12-20|IDIR/GRCHWELO|2019-12-20\n";
   private static final StudentMapper mapper = StudentMapper.mapper;
+  private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
   @Autowired
   private MockMvc mockMvc;
   @Autowired
@@ -195,6 +201,19 @@ public class StudentControllerTest {
   }
 
 
+  @Test
+  public void testRetrieveStudent_GivenCurrentETag_ShouldReturnNotModified() throws Exception {
+    final GrantedAuthority grantedAuthority = () -> "SCOPE_READ_STUDENT";
+    final var mockAuthority = oidcLogin().authorities(grantedAuthority);
+    final StudentEntity entity = this.repository.save(this.createStudent());
+    final String eTag = this.mockMvc.perform(get(STUDENT + "/" + entity.getStudentID()).with(mockAuthority)).andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    this.mockMvc.perform(get(STUDENT + "/" + entity.getStudentID()).with(mockAuthority).header(HttpHeaders.IF_NONE_MATCH, eTag)).andDo(print()).andExpect(status().isNotModified());
+    this.mockMvc.perform(get(STUDENT + "?pen=" + entity.getPen()).with(mockAuthority).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+    this.mockMvc.perform(get(STUDENT + "/" + entity.getStudentID()).with(mockAuthority).header(HttpHeaders.IF_NONE_MATCH, "\"stale\"")).andExpect(status().isOk())
+        .andExpect(MockMvcResultMatchers.jsonPath("$.studentID").value(entity.getStudentID().toString()));
+  }
+
   @Test
   public void testRetrieveStudent_GivenPEN_ShouldReturnStatusOK() throws Exception {
     final GrantedAuthority grantedAuthority = () -> "SCOPE_READ_STUDENT";
@@ -339,6 +358,7 @@ public class StudentControllerTest {
     this.repository.save(entity);
     this.mockMvc.perform(delete(STUDENT +"/"+ entity.getStudentID().toString()).contentType(MediaType.APPLICATION_JSON)
         .accept(MediaType.APPLICATION_JSON).with(jwt().jwt((jwt) -> jwt.claim("scope", "DELETE_STUDENT")))).andDo(print()).andExpect(status().isNoContent());
+    assertThat(this.studentEventRepository.findAll()).extracting(StudentEvent::getEventType).containsExactly("DELETE_STUDENT");
   }
 
   @Test
@@ -364,6 +384,24 @@ public class StudentControllerTest {
     this.mockMvc.perform(asyncDispatch(result)).andDo(print()).andExpect(status().isOk()).andExpect(jsonPath("$.content", hasSize(2)));
   }
 
+  @Test
+  public void testReadStudentPaginated_GivenSmileAccepted_ShouldReturnSmile() throws Exception {
+    final GrantedAuthority grantedAuthority = () -> "SCOPE_READ_STUDENT";
+    final var mockAuthority = oidcLogin().authorities(grantedAuthority);
+    final File file = new File(
+        Objects.requireNonNull(this.getClass().getClassLoader().getResource("mock_students.json")).getFile()
+    );
+    final List<Student> entities = new ObjectMapper().readValue(file, new TypeReference<>() {
+    });
+    this.repository.saveAll(entities.stream().map(mapper::toModel).map(TransformUtil::uppercaseFields).collect(Collectors.toList()));
+    final MvcResult result = this.mockMvc
+        .perform(get(STUDENT + PAGINATED + "?pageSize=2").with(mockAuthority).accept(SMILE))
+        .andReturn();
+    final byte[] smile = this.mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+        .andExpect(MockMvcResultMatchers.content().contentType(SMILE)).andReturn().getResponse().getContentAsByteArray();
+    assertThat(new SmileMapper().readTree(smile).get("content")).hasSize(2);
+  }
+
   @Test
   public void testReadStudentPaginated_whenNoDataInDB_ShouldReturnStatusOk() throws Exception {
     final GrantedAuthority grantedAuthority = () -> "SCOPE_READ_STUDENT";
@@ -857,6 +895,18 @@ public class StudentControllerTest {
         .andExpect(MockMvcResultMatchers.jsonPath("$[0].statusCode").value("A"));
   }
 
+  @Test
+  public void testGetSexCodes_GivenMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+    final GrantedAuthority grantedAuthority = () -> "SCOPE_READ_STUDENT_CODES";
+    final var mockAuthority = oidcLogin().authorities(grantedAuthority);
+    final MvcResult result = this.mockMvc.perform(get(STUDENT + SEX_CODES).with(mockAuthority)).andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG)).andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age"))).andReturn();
+    final String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+    this.mockMvc.perform(get(STUDENT + SEX_CODES).with(mockAuthority).header(HttpHeaders.IF_NONE_MATCH, eTag)).andDo(print()).andExpect(status().isNotModified());
+    this.mockMvc.perform(get(STUDENT + SEX_CODES).with(mockAuthority).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")).andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+  }
+
   private StudentEntity createStudent() {
     final StudentEntity student = new StudentEntity();
     student.setPen("987654321");
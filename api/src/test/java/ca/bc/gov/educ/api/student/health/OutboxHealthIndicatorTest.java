@@ -0,0 +1,53 @@
+package ca.bc.gov.educ.api.student.health;
+
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import ca.bc.gov.educ.api.student.repository.v1.StudentEventRepository;
+import ca.bc.gov.educ.api.student.service.v1.OutboxMetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OutboxHealthIndicatorTest {
+  private final StudentEventRepository studentEventRepository = mock(StudentEventRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private OutboxMetricsService outboxMetricsService;
+  private OutboxHealthIndicator outboxHealthIndicator;
+
+  @Before
+  public void before() {
+    final ApplicationProperties applicationProperties = mock(ApplicationProperties.class);
+    when(applicationProperties.getOutboxDegradedBacklog()).thenReturn(10L);
+    when(applicationProperties.getOutboxDegradedAgeSeconds()).thenReturn(900L);
+    this.outboxMetricsService = new OutboxMetricsService(this.studentEventRepository, this.meterRegistry);
+    this.outboxHealthIndicator = new OutboxHealthIndicator(this.outboxMetricsService, applicationProperties);
+  }
+
+  @Test
+  public void testHealth_givenSmallRecentBacklog_shouldReturnUp() {
+    when(this.studentEventRepository.countByEventStatus("DB_COMMITTED")).thenReturn(2L);
+    when(this.studentEventRepository.findOldestCreateDateByEventStatus("DB_COMMITTED")).thenReturn(Optional.of(LocalDateTime.now().minusMinutes(1)));
+    this.outboxMetricsService.refresh();
+
+    assertThat(this.outboxHealthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    assertThat(this.meterRegistry.get("student.outbox.backlog").gauge().value()).isEqualTo(2);
+    assertThat(this.meterRegistry.get("student.outbox.oldest.unpublished.age").gauge().value()).isGreaterThanOrEqualTo(60);
+  }
+
+  @Test
+  public void testHealth_givenOldestEventOverTheMaxAge_shouldReturnDegraded() {
+    when(this.studentEventRepository.countByEventStatus("DB_COMMITTED")).thenReturn(1L);
+    when(this.studentEventRepository.findOldestCreateDateByEventStatus("DB_COMMITTED")).thenReturn(Optional.of(LocalDateTime.now().minusHours(1)));
+    this.outboxMetricsService.refresh();
+
+    assertThat(this.outboxHealthIndicator.health().getStatus()).isEqualTo(OutboxHealthIndicator.DEGRADED);
+    assertThat(this.outboxHealthIndicator.health().getDetails()).containsEntry("backlog", 1L);
+  }
+}
@@ -1,5 +1,6 @@
 package ca.bc.gov.educ.api.student.health;
 
+import ca.bc.gov.educ.api.student.messaging.MessageSubscriber;
 import io.nats.client.Connection;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -20,6 +21,9 @@ public class StudentAPICustomHealthCheckTest {
   @Autowired
   Connection natsConnection;
 
+  @Autowired
+  MessageSubscriber messageSubscriber;
+
   @Autowired
   private StudentAPICustomHealthCheck studentAPICustomHealthCheck;
 
@@ -38,4 +42,18 @@ public class StudentAPICustomHealthCheckTest {
     assertThat(studentAPICustomHealthCheck.getHealth(true).getStatus()).isEqualTo(Status.UP);
   }
 
+  @Test
+  public void testGetHealth_givenSubscriberDraining_shouldReturnOutOfServiceWithInFlightCount() {
+    when(natsConnection.getStatus()).thenReturn(Connection.Status.CONNECTED);
+    when(messageSubscriber.isDraining()).thenReturn(true);
+    when(messageSubscriber.getInFlightMessageCount()).thenReturn(3);
+    try {
+      assertThat(studentAPICustomHealthCheck.getHealth(true).getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+      assertThat(studentAPICustomHealthCheck.getHealth(true).getDetails()).containsEntry("inFlightMessages", 3);
+    } finally {
+      when(messageSubscriber.isDraining()).thenReturn(false);
+      when(messageSubscriber.getInFlightMessageCount()).thenReturn(0);
+    }
+  }
+
 }
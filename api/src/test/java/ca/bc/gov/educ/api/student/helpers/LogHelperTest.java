@@ -0,0 +1,88 @@
+package ca.bc.gov.educ.api.student.helpers;
+
+import ca.bc.gov.educ.api.student.util.JsonUtil;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LogHelperTest {
+  private final Logger logger = (Logger) LoggerFactory.getLogger(LogHelper.class);
+  private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+  @Before
+  public void before() {
+    this.appender.start();
+    this.logger.addAppender(this.appender);
+    LogHelper.setPayloadMaxLength(16);
+  }
+
+  @After
+  public void after() {
+    this.logger.detachAppender(this.appender);
+    LogHelper.setPayloadMaxLength(4096);
+  }
+
+  @Test
+  public void testLogServerHttpReqResponseDetails_givenQuotesInFields_shouldWriteValidJson() throws Exception {
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/student");
+    request.setAttribute("startTime", System.currentTimeMillis());
+    request.setQueryString("legalLastName=\"O'Brien\"");
+    request.setAttribute("payload", "{\"pen\":\"123456789\",\"legalFirstName\":\"JOHN\"}");
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+    response.setStatus(200);
+
+    LogHelper.logServerHttpReqResponseDetails(request, response);
+
+    final JsonNode httpEvent = JsonUtil.mapper.readTree(this.appender.list.get(0).getMDCPropertyMap().get("httpEvent"));
+    assertThat(httpEvent.get("server_http_response_code").asInt()).isEqualTo(200);
+    assertThat(httpEvent.get("server_http_query_params").asText()).isEqualTo("legalLastName=\"O'Brien\"");
+    assertThat(httpEvent.get("server_http_request_payload").asText()).isEqualTo("{\"pen\":\"12345678...(truncated)");
+    assertThat(httpEvent.get("correlation_id")).isNull();
+    assertThat(MDC.get("httpEvent")).isNull();
+  }
+
+  @Test
+  public void testLogMessagingEventDetails_givenEventOverTheCap_shouldWriteTruncatedJsonString() throws Exception {
+    final String event = "{\"eventType\":\"GET_STUDENT\"}";
+    LogHelper.logMessagingEventDetails(event.getBytes(StandardCharsets.UTF_8));
+    LogHelper.logMessagingEventDetails("{}");
+
+    assertThat(JsonUtil.mapper.readTree(this.appender.list.get(0).getMDCPropertyMap().get("messageEvent")).asText()).isEqualTo("{\"eventType\":\"GE...(truncated)");
+    assertThat(this.appender.list.get(1).getMDCPropertyMap()).containsEntry("messageEvent", "{}");
+  }
+
+  @Test
+  public void testLogMessagingEventDetails_givenMultiByteCharsOverTheCap_shouldCutByCharsLikeTheStringEvent() throws Exception {
+    final String event = "{\"name\":\"ÉÉÉÉÉÉÉÉÉÉÉÉÉÉÉÉÉÉÉÉ\"}";
+    LogHelper.logMessagingEventDetails(event.getBytes(StandardCharsets.UTF_8));
+    LogHelper.logMessagingEventDetails(event);
+    LogHelper.logMessagingEventDetails("\"ÉÉÉÉÉ\"".getBytes(StandardCharsets.UTF_8));
+
+    final String expected = "{\"name\":\"ÉÉÉÉÉÉÉ...(truncated)";
+    assertThat(JsonUtil.mapper.readTree(this.appender.list.get(0).getMDCPropertyMap().get("messageEvent")).asText()).isEqualTo(expected);
+    assertThat(JsonUtil.mapper.readTree(this.appender.list.get(1).getMDCPropertyMap().get("messageEvent")).asText()).isEqualTo(expected);
+    assertThat(this.appender.list.get(2).getMDCPropertyMap()).containsEntry("messageEvent", "\"ÉÉÉÉÉ\"");
+  }
+
+  @Test
+  public void testLogBinaryMessagingEventDetails_givenBinaryEvent_shouldWriteSummaryOnly() throws Exception {
+    LogHelper.logBinaryMessagingEventDetails("application/cbor", 2048, "GET_STUDENTS", "8c6c7b3e-4c5d-4c4e-9a7b-6c1f2e3d4a5b");
+
+    final JsonNode messageEvent = JsonUtil.mapper.readTree(this.appender.list.get(0).getMDCPropertyMap().get("messageEvent"));
+    assertThat(messageEvent.get("contentType").asText()).isEqualTo("application/cbor");
+    assertThat(messageEvent.get("length").asInt()).isEqualTo(2048);
+    assertThat(messageEvent.get("eventType").asText()).isEqualTo("GET_STUDENTS");
+  }
+}
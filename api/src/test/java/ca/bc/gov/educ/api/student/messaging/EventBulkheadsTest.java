@@ -0,0 +1,102 @@
+package ca.bc.gov.educ.api.student.messaging;
+
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
+import ca.bc.gov.educ.api.student.config.ShutdownDeadline;
+import ca.bc.gov.educ.api.student.constant.EventPriority;
+import ca.bc.gov.educ.api.student.constant.EventType;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EventBulkheadsTest {
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private EventBulkheads eventBulkheads;
+
+  @Before
+  public void before() {
+    this.eventBulkheads = newEventBulkheads(2, this.meterRegistry);
+  }
+
+  @Test
+  public void testSubmit_givenBulkheadQueueFull_shouldRejectOnlyThatEventType() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    assertThat(this.eventBulkheads.submit(EventType.GET_STUDENTS, () -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    })).isTrue();
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(this.meterRegistry.get("student.nats.bulkhead.running").tag("eventType", "GET_STUDENTS").gauge().value()).isEqualTo(1);
+    assertThat(this.eventBulkheads.submit(EventType.GET_STUDENTS, () -> {
+    })).isTrue();
+    assertThat(this.eventBulkheads.getQueueDepth(EventType.GET_STUDENTS)).isEqualTo(1);
+    assertThat(this.eventBulkheads.submit(EventType.GET_STUDENTS, () -> {
+    })).isFalse();
+
+    final CountDownLatch otherType = new CountDownLatch(1);
+    assertThat(this.eventBulkheads.submit(EventType.GET_STUDENT, otherType::countDown)).isTrue();
+    assertThat(otherType.await(5, TimeUnit.SECONDS)).isTrue();
+    release.countDown();
+
+    assertThat(this.meterRegistry.get("student.nats.bulkhead.rejected").tag("eventType", "GET_STUDENTS").counter().count()).isEqualTo(1);
+    assertThat(this.eventBulkheads.submit(EventType.STUDENT_EVENT_OUTBOX_PROCESSED, () -> {
+    })).isFalse();
+  }
+
+  @Test
+  public void testSubmit_givenWorkersBusy_shouldStartHigherPriorityEventFirst() throws InterruptedException {
+    final EventBulkheads singleWorker = newEventBulkheads(1, new SimpleMeterRegistry());
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    assertThat(singleWorker.submit(EventType.GET_STUDENT, () -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    })).isTrue();
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    final List<EventType> order = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch done = new CountDownLatch(2);
+    assertThat(singleWorker.submit(EventType.GET_STUDENTS, () -> {
+      order.add(EventType.GET_STUDENTS);
+      done.countDown();
+    })).isTrue();
+    assertThat(singleWorker.submit(EventType.CREATE_STUDENT, () -> {
+      order.add(EventType.CREATE_STUDENT);
+      done.countDown();
+    })).isTrue();
+    release.countDown();
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(order).containsExactly(EventType.CREATE_STUDENT, EventType.GET_STUDENTS);
+  }
+
+  private static EventBulkheads newEventBulkheads(final int eventWorkerThreads, final SimpleMeterRegistry meterRegistry) {
+    final ApplicationProperties applicationProperties = mock(ApplicationProperties.class);
+    when(applicationProperties.getBulkheadConcurrency(any(EventPriority.class))).thenReturn(1);
+    when(applicationProperties.getBulkheadQueueSize(any(EventPriority.class))).thenReturn(1);
+    when(applicationProperties.getNatsEventWorkerThreads()).thenReturn(eventWorkerThreads);
+    when(applicationProperties.getHikariMaximumPoolSize()).thenReturn(10);
+    when(applicationProperties.getShutdownTimeoutSeconds()).thenReturn(1);
+    return new EventBulkheads(applicationProperties, new ExecutorFactory(applicationProperties, meterRegistry, new ShutdownDeadline(applicationProperties)), meterRegistry);
+  }
+}
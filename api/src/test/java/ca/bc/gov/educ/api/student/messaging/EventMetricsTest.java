@@ -0,0 +1,33 @@
+package ca.bc.gov.educ.api.student.messaging;
+
+import ca.bc.gov.educ.api.student.constant.EventOutcome;
+import ca.bc.gov.educ.api.student.constant.EventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventMetricsTest {
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final EventMetrics eventMetrics = new EventMetrics(this.meterRegistry);
+
+  @Test
+  public void testRecordHandler_givenOutcomes_shouldTagByEventTypeAndOutcome() {
+    this.eventMetrics.recordHandler(EventType.GET_STUDENT, EventOutcome.STUDENT_FOUND, false, TimeUnit.MILLISECONDS.toNanos(5));
+    this.eventMetrics.recordHandler(EventType.GET_STUDENT, EventOutcome.STUDENT_FOUND, false, TimeUnit.MILLISECONDS.toNanos(7));
+    this.eventMetrics.recordHandler(EventType.GET_STUDENT, EventOutcome.STUDENT_FOUND, true, TimeUnit.MILLISECONDS.toNanos(1));
+    this.eventMetrics.recordHandler(EventType.GET_STUDENT, null, false, TimeUnit.MILLISECONDS.toNanos(1));
+
+    assertThat(this.meterRegistry.get("student.nats.event.handler").tag("eventType", "GET_STUDENT").tag("eventOutcome", "STUDENT_FOUND").timer().count()).isEqualTo(2);
+    assertThat(this.meterRegistry.get("student.nats.event.handler").tag("eventOutcome", "ERROR").timer().count()).isEqualTo(1);
+    assertThat(this.meterRegistry.get("student.nats.event.handler").tag("eventOutcome", "NONE").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void testTimeDb_givenDbCall_shouldReturnItsResultAndRecordTheTime() {
+    assertThat(this.eventMetrics.timeDb(EventType.GET_STUDENTS, () -> "students")).isEqualTo("students");
+    assertThat(this.meterRegistry.get("student.nats.event.db").tag("eventType", "GET_STUDENTS").timer().count()).isEqualTo(1);
+  }
+}
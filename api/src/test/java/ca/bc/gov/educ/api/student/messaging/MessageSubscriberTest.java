@@ -0,0 +1,129 @@
+package ca.bc.gov.educ.api.student.messaging;
+
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
+import ca.bc.gov.educ.api.student.config.ShutdownDeadline;
+import ca.bc.gov.educ.api.student.constant.EventType;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import ca.bc.gov.educ.api.student.service.v1.EventHandlerDelegatorService;
+import ca.bc.gov.educ.api.student.struct.v1.Event;
+import ca.bc.gov.educ.api.student.util.JsonUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.nats.client.Connection;
+import io.nats.client.Dispatcher;
+import io.nats.client.Message;
+import io.nats.client.MessageHandler;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MessageSubscriberTest {
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final EventHandlerDelegatorService eventHandlerDelegatorService = mock(EventHandlerDelegatorService.class);
+  private final EventBulkheads eventBulkheads = mock(EventBulkheads.class);
+  private final Event event = Event.builder().eventType(EventType.GET_STUDENT).sagaId(UUID.randomUUID()).replyTo("reply").eventPayload("123456789").payloadVersion("V1").build();
+  private Message message;
+  private MessageSubscriber messageSubscriber;
+
+  @Before
+  public void before() throws Exception {
+    this.message = mock(Message.class);
+    when(this.message.getData()).thenReturn(JsonUtil.getJsonBytesFromObject(this.event));
+  }
+
+  @Test
+  public void testOnMessage_givenHighWaterMarkReachedAndShedStrategy_shouldRespondBusy() throws InterruptedException {
+    this.subscribe(0).onMessage(this.message);
+
+    verify(this.eventHandlerDelegatorService, timeout(5000)).handleBusy(eq(this.event), eq(this.message));
+    verify(this.eventHandlerDelegatorService, never()).handleEvent(any(), any());
+    assertThat(this.meterRegistry.get("student.nats.intake.shed").counter().count()).isEqualTo(1);
+    assertThat(this.messageSubscriber.getInFlightMessageCount()).isZero();
+  }
+
+  @Test
+  public void testOnMessage_givenTooManyBusyRepliesPending_shouldDropTheShedMessage() throws InterruptedException {
+    final CountDownLatch replying = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      replying.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return null;
+    }).when(this.eventHandlerDelegatorService).handleBusy(any(), any());
+    final MessageHandler handler = this.subscribe(0);
+    handler.onMessage(this.message);
+    assertThat(replying.await(5, TimeUnit.SECONDS)).isTrue();
+    handler.onMessage(this.message);
+    release.countDown();
+
+    verify(this.eventHandlerDelegatorService, timeout(5000)).handleBusy(eq(this.event), eq(this.message));
+    assertThat(this.meterRegistry.get("student.nats.intake.shed").counter().count()).isEqualTo(2);
+    assertThat(this.meterRegistry.get("student.nats.intake.busy.reply.dropped").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void testOnMessage_givenHighWaterMarkReachedAndRequestReply_shouldNotRespondBusy() throws InterruptedException {
+    when(this.message.getReplyTo()).thenReturn("_INBOX.reply");
+    this.subscribe(0).onMessage(this.message);
+
+    verify(this.eventHandlerDelegatorService, never()).handleBusy(any(), any());
+    verify(this.eventHandlerDelegatorService, never()).handleEvent(any(), any());
+    assertThat(this.meterRegistry.get("student.nats.intake.shed").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void testOnMessage_givenReplyPublishedLater_shouldKeepMessageInFlightUntilPublished() throws InterruptedException {
+    final CompletableFuture<Void> reply = new CompletableFuture<>();
+    final CountDownLatch handled = new CountDownLatch(1);
+    when(this.eventHandlerDelegatorService.handleEvent(any(), any())).thenAnswer(invocation -> {
+      handled.countDown();
+      return reply;
+    });
+    when(this.eventBulkheads.submit(any(), any())).thenAnswer(invocation -> {
+      invocation.<Runnable>getArgument(1).run();
+      return true;
+    });
+    this.subscribe(10).onMessage(this.message);
+
+    assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (reply.getNumberOfDependents() == 0 && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+    assertThat(this.messageSubscriber.getInFlightMessageCount()).isEqualTo(1);
+    reply.complete(null);
+    assertThat(this.messageSubscriber.getInFlightMessageCount()).isZero();
+  }
+
+  private MessageHandler subscribe(final int highWaterMark) {
+    final ApplicationProperties applicationProperties = mock(ApplicationProperties.class);
+    when(applicationProperties.getNatsIntakeHighWaterMark()).thenReturn(highWaterMark);
+    when(applicationProperties.getNatsIntakeOverloadStrategy()).thenReturn(MessageSubscriber.OverloadStrategy.SHED);
+    when(applicationProperties.getNatsIntakeBusyReplyMaxPending()).thenReturn(1);
+    when(applicationProperties.getShutdownTimeoutSeconds()).thenReturn(1);
+    when(applicationProperties.getHikariMaximumPoolSize()).thenReturn(10);
+    final ShutdownDeadline shutdownDeadline = new ShutdownDeadline(applicationProperties);
+    final Connection connection = mock(Connection.class);
+    when(connection.createDispatcher(any())).thenReturn(mock(Dispatcher.class));
+    this.messageSubscriber = new MessageSubscriber(connection, this.eventHandlerDelegatorService, new ExecutorFactory(applicationProperties, this.meterRegistry, shutdownDeadline),
+        this.eventBulkheads, applicationProperties, this.meterRegistry, new EventMetrics(this.meterRegistry), shutdownDeadline);
+    this.messageSubscriber.subscribe();
+    final ArgumentCaptor<MessageHandler> handlerCaptor = ArgumentCaptor.forClass(MessageHandler.class);
+    verify(connection).createDispatcher(handlerCaptor.capture());
+    return handlerCaptor.getValue();
+  }
+}
@@ -0,0 +1,30 @@
+package ca.bc.gov.educ.api.student.messaging;
+
+import ca.bc.gov.educ.api.student.constant.EventOutcome;
+import ca.bc.gov.educ.api.student.constant.EventType;
+import ca.bc.gov.educ.api.student.struct.v1.Event;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WireFormatTest {
+
+  @Test
+  public void testWrite_givenSmileAndCbor_shouldReadBackSameEvent() throws IOException {
+    final Event event = Event.builder().eventType(EventType.GET_STUDENT).eventOutcome(EventOutcome.STUDENT_FOUND).sagaId(UUID.randomUUID()).eventPayload("{\"pen\":\"123456789\"}").build();
+    for (final WireFormat wireFormat : WireFormat.values()) {
+      assertThat(wireFormat.readEvent(wireFormat.write(event))).isEqualTo(event);
+    }
+  }
+
+  @Test
+  public void testFromContentType_givenUnknownOrMissingContentType_shouldFallBackToJson() {
+    assertThat(WireFormat.fromContentType(null)).isEqualTo(WireFormat.JSON);
+    assertThat(WireFormat.fromContentType("text/plain")).isEqualTo(WireFormat.JSON);
+    assertThat(WireFormat.fromContentType("application/cbor")).isEqualTo(WireFormat.CBOR);
+    assertThat(WireFormat.JSON.toHeaders()).isNull();
+  }
+}
@@ -0,0 +1,40 @@
+package ca.bc.gov.educ.api.student.model.v1;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StudentVersionTest {
+
+  @Test
+  public void testETag_givenUpdatesInTheSameSecond_shouldDifferByContent() {
+    final LocalDateTime updateDate = LocalDateTime.of(2021, 3, 1, 10, 15, 30);
+    final StudentEntity first = this.createStudent(updateDate, "JOHN");
+    final StudentEntity second = this.createStudent(updateDate.plusNanos(400_000_000), "JOHNNY");
+
+    assertThat(StudentVersion.of(first).eTag()).isNotEqualTo(StudentVersion.of(second).eTag());
+  }
+
+  @Test
+  public void testETag_givenSavedEntityAndRowReadBack_shouldBeEqual() {
+    final LocalDateTime updateDate = LocalDateTime.of(2021, 3, 1, 10, 15, 30);
+    final StudentEntity saved = this.createStudent(updateDate.plusNanos(123_456_789), "JOHN");
+    final StudentEntity readBack = this.createStudent(updateDate, "JOHN");
+
+    assertThat(StudentVersion.of(saved).eTag()).isEqualTo(StudentVersion.of(readBack).eTag());
+  }
+
+  private StudentEntity createStudent(final LocalDateTime updateDate, final String legalFirstName) {
+    final StudentEntity studentEntity = new StudentEntity();
+    studentEntity.setStudentID(UUID.fromString("8e20fdf5-7c3a-4a51-a0a9-3d4f3ff8a2b1"));
+    studentEntity.setPen("123456789");
+    studentEntity.setLegalFirstName(legalFirstName);
+    studentEntity.setLegalLastName("WAYNE");
+    studentEntity.setUpdateUser("TEST");
+    studentEntity.setUpdateDate(updateDate);
+    return studentEntity;
+  }
+}
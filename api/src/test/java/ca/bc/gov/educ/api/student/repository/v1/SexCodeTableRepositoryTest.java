@@ -0,0 +1,73 @@
+package ca.bc.gov.educ.api.student.repository.v1;
+
+import ca.bc.gov.educ.api.student.model.v1.SexCodeEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@SpringBootTest
+public class SexCodeTableRepositoryTest {
+  @Autowired
+  private SexCodeTableRepository sexCodeTableRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @Before
+  public void before() {
+    this.sexCodeTableRepository.save(SexCodeEntity.builder().sexCode("M").description("Male")
+        .effectiveDate(LocalDateTime.now()).expiryDate(LocalDateTime.MAX).displayOrder(1).label("label").createDate(LocalDateTime.now())
+        .updateDate(LocalDateTime.now()).createUser("TEST").updateUser("TEST").build());
+    this.entityManagerFactory.getCache().evictAll();
+    final SessionFactory sessionFactory = this.entityManagerFactory.unwrap(SessionFactory.class);
+    sessionFactory.getCache().evictDefaultQueryRegion();
+    this.statistics = sessionFactory.getStatistics();
+    this.statistics.clear();
+  }
+
+  @After
+  public void after() {
+    this.sexCodeTableRepository.deleteAll();
+  }
+
+  @Test
+  public void testFindAll_givenCalledTwice_shouldAnswerTheSecondCallFromTheQueryCache() {
+    assertThat(this.sexCodeTableRepository.findAll()).hasSize(1);
+    assertThat(this.statistics.getQueryCacheHitCount()).isZero();
+
+    assertThat(this.sexCodeTableRepository.findAll()).hasSize(1);
+    assertThat(this.statistics.getQueryCacheHitCount()).isEqualTo(1);
+    assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testFind_givenCodeLoaded_shouldAnswerFromTheRegionCache() {
+    assertThat(this.sexCodeTableRepository.findAll()).hasSize(1);
+
+    final EntityManager entityManager = this.entityManagerFactory.createEntityManager();
+    try {
+      assertThat(entityManager.find(SexCodeEntity.class, "M")).isNotNull();
+    } finally {
+      entityManager.close();
+    }
+    assertThat(this.statistics.getDomainDataRegionStatistics(SexCodeEntity.class.getName()).getHitCount()).isEqualTo(1);
+    assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,42 @@
+package ca.bc.gov.educ.api.student.repository.v1.impl;
+
+import ca.bc.gov.educ.api.student.benchmark.SearchSpecificationBenchmark;
+import ca.bc.gov.educ.api.student.struct.v1.Search;
+import ca.bc.gov.educ.api.student.util.JsonUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The where clause of a distinct students by history search, over the criteria shapes of {@link SearchSpecificationBenchmark}.
+ * It sits next to {@link StudentHistoryRepositoryCustomImpl} so the builder can stay package private.
+ * Run with {@code mvn test-compile exec:exec@benchmarks -Djmh.includes=StudentHistoryWhereClauseBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentHistoryWhereClauseBenchmark {
+  @Param({"pen", "demographics", "dobRangeOrSchool"})
+  private String shape;
+  private List<Search> searches;
+  private StudentHistoryRepositoryCustomImpl studentHistoryRepository;
+
+  @Setup
+  public void setup() throws IOException {
+    this.studentHistoryRepository = new StudentHistoryRepositoryCustomImpl(null);
+    this.searches = JsonUtil.SEARCH_LIST_READER.readValue(SearchSpecificationBenchmark.SEARCH_CRITERIA.get(this.shape));
+  }
+
+  @Benchmark
+  public String buildWhereClause() {
+    final Map<String, Object> parameterMap = new HashMap<>();
+    return this.studentHistoryRepository.buildWhereClauseBasedOnSearchCriteria(this.searches, parameterMap);
+  }
+}
@@ -53,6 +53,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -413,6 +414,19 @@ public class EventHandlerServiceTest {
     assertThat(studentEventUpdated.get().getEventOutcome()).isEqualTo(STUDENT_ALREADY_EXIST.toString());
   }
 
+  @Test
+  public void testHandleEvent_givenEventTypeCREATE_STUDENT_whenSagaMessageReplayed_shouldRespondWithSameResponse() throws JsonProcessingException {
+    var sagaId = UUID.randomUUID();
+    final Event event = Event.builder().eventType(CREATE_STUDENT).sagaId(sagaId).replyTo(STUDENT_API_TOPIC).eventPayload(placeHolderStudentJSON()).build();
+    final String payload = event.getEventPayload();
+    var response = eventHandlerServiceUnderTest.handleCreateStudentEvent(event);
+    event.setEventPayload(payload);
+    var replayResponse = eventHandlerServiceUnderTest.handleCreateStudentEvent(event);
+    assertThat(replayResponse.getLeft()).isEqualTo(response.getLeft());
+    assertThat(replayResponse.getRight()).isNull();
+    assertThat(studentRepository.findAll()).hasSize(1);
+  }
+
   @Test
   public void testHandleEvent_givenEventTypeCREATE_STUDENT_whenDuplicateSagaMessage_shouldHaveEventOutcomeSTUDENT_CREATED() throws JsonProcessingException {
     var sagaId = UUID.randomUUID();
@@ -468,6 +482,25 @@ public class EventHandlerServiceTest {
     assertThat(responseEvent.getEventOutcome()).isEqualTo(STUDENTS_FOUND);
   }
 
+  @Test
+  public void testHandleEvent_givenEventTypeGET_STUDENTS__whenChunkSizeProvided_shouldRespondInChunks() throws IOException {
+    StudentEntity entity1 = studentRepository.save(studentMapper.toModel(getStudentEntityFromJsonString()));
+    StudentEntity entity2 = studentRepository.save(studentMapper.toModel(getStudentEntityFromJsonString()));
+    StudentEntity entity3 = studentRepository.save(studentMapper.toModel(getStudentEntityFromJsonString()));
+    List<UUID> ids = Arrays.asList(entity1.getStudentID(), entity2.getStudentID(), entity3.getStudentID());
+    final Event event = Event.builder().eventType(GET_STUDENTS).sagaId(UUID.randomUUID()).replyTo(STUDENT_API_TOPIC).eventPayload(JsonUtil.getJsonStringFromObject(ids)).build();
+    List<byte[]> responses = eventHandlerServiceUnderTest.handleGetStudentsEvent(event, 2);
+    assertThat(responses).hasSize(2);
+    List<Student> students = new ArrayList<>();
+    for (byte[] response : responses) {
+      Event responseEvent = JsonUtil.getObjectFromJsonBytes(Event.class, response);
+      assertThat(responseEvent.getEventOutcome()).isEqualTo(STUDENTS_FOUND);
+      students.addAll(JsonUtil.mapper.readValue(responseEvent.getEventPayload(), new TypeReference<List<Student>>() {
+      }));
+    }
+    assertThat(students).extracting(Student::getStudentID).containsExactlyInAnyOrder(entity1.getStudentID().toString(), entity2.getStudentID().toString(), entity3.getStudentID().toString());
+  }
+
   @Test
   public void testHandleEvent_givenEventTypeGET_STUDENTS__whenStudentsExistAndRepeatedStudentIDProvided_shouldHaveEventOutcomeSTUDENTS_FOUND() throws IOException {
     StudentEntity entity1 = studentRepository.save(studentMapper.toModel(getStudentEntityFromJsonString()));
@@ -0,0 +1,171 @@
+package ca.bc.gov.educ.api.student.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
+import ca.bc.gov.educ.api.student.constant.EventType;
+import ca.bc.gov.educ.api.student.mappers.v1.StudentMapper;
+import ca.bc.gov.educ.api.student.messaging.jetstream.Publisher;
+import ca.bc.gov.educ.api.student.model.v1.StudentEntity;
+import ca.bc.gov.educ.api.student.model.v1.StudentEvent;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import ca.bc.gov.educ.api.student.repository.v1.StudentEventRepository;
+import ca.bc.gov.educ.api.student.repository.v1.StudentHistoryRepository;
+import ca.bc.gov.educ.api.student.repository.v1.StudentRepository;
+import ca.bc.gov.educ.api.student.service.v1.CodeTableService;
+import ca.bc.gov.educ.api.student.service.v1.SearchMetricsService;
+import ca.bc.gov.educ.api.student.service.v1.StudentCacheService;
+import ca.bc.gov.educ.api.student.service.v1.StudentHistoryService;
+import ca.bc.gov.educ.api.student.service.v1.StudentService;
+import ca.bc.gov.educ.api.student.struct.v1.StudentCreate;
+import ca.bc.gov.educ.api.student.struct.v1.StudentUpdate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The student service with the student cache enabled, the other tests run with it disabled.
+ */
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = "student.entity.cache.max.size=1000")
+public class StudentServiceCacheTest {
+
+  @Autowired
+  StudentRepository repository;
+  @Autowired
+  StudentEventRepository studentEventRepository;
+  @Autowired
+  StudentHistoryRepository studentHistoryRepository;
+  @Autowired
+  ExecutorFactory executorFactory;
+  @Autowired
+  StudentCacheService studentCacheService;
+  @Autowired
+  SearchMetricsService searchMetricsService;
+  @Autowired
+  ApplicationProperties applicationProperties;
+  @Autowired
+  PlatformTransactionManager transactionManager;
+  @Mock
+  CodeTableService codeTableService;
+  StudentService service;
+
+  @Before
+  public void before() {
+    final StudentHistoryService studentHistoryService = new StudentHistoryService(studentHistoryRepository, codeTableService, executorFactory, searchMetricsService);
+    service = new StudentService(studentEventRepository, repository, codeTableService, studentHistoryService, executorFactory, studentCacheService, searchMetricsService);
+  }
+
+  @After
+  public void after() {
+    studentHistoryRepository.deleteAll();
+    studentEventRepository.deleteAll();
+    repository.deleteAll();
+  }
+
+  @Test
+  public void testRetrieveStudent_WhenStudentIsCached_ShouldNotReadTheDB() throws JsonProcessingException {
+    StudentEntity student = service.createStudent(getStudentCreate()).getLeft();
+    service.retrieveStudent(student.getStudentID());
+    studentHistoryRepository.deleteAll();
+    repository.deleteAll();
+
+    assertThat(service.retrieveStudent(student.getStudentID()).getPen()).isEqualTo("987654321");
+    assertThat(service.retrieveCachedStudentByPen("987654321")).isPresent();
+  }
+
+  @Test
+  public void testRetrieveStudent_WhenCallerChangesTheStudent_ShouldReturnTheStoredStudent() throws JsonProcessingException {
+    StudentEntity student = service.createStudent(getStudentCreate()).getLeft();
+    service.retrieveStudent(student.getStudentID()).setLegalFirstName("CHANGED");
+
+    assertThat(service.retrieveStudent(student.getStudentID()).getLegalFirstName()).isEqualTo("JOHN");
+  }
+
+  @Test
+  public void testUpdateStudent_WhenStudentIsCached_ShouldReturnTheUpdatedStudent() throws JsonProcessingException {
+    StudentEntity student = service.createStudent(getStudentCreate()).getLeft();
+    service.retrieveStudent(student.getStudentID());
+
+    service.updateStudent(getStudentUpdate(student), student.getStudentID());
+
+    assertThat(service.retrieveStudent(student.getStudentID()).getLegalFirstName()).isEqualTo("UPDATEDFIRSTNAME");
+  }
+
+  @Test
+  public void testUpdateStudent_WhenReaderLoadedBeforeTheUpdate_ShouldNotCacheTheStaleStudent() throws JsonProcessingException {
+    StudentEntity student = service.createStudent(getStudentCreate()).getLeft();
+    final long generation = studentCacheService.getGeneration();
+    final StudentEntity stale = repository.findById(student.getStudentID()).orElseThrow();
+
+    service.updateStudent(getStudentUpdate(student), student.getStudentID());
+    studentCacheService.put(stale, generation);
+
+    assertThat(service.retrieveStudent(student.getStudentID()).getLegalFirstName()).isEqualTo("UPDATEDFIRSTNAME");
+  }
+
+  @Test
+  public void testDeleteStudent_WhenCachedOnAnotherNode_ShouldEvictItThere() throws JsonProcessingException {
+    StudentEntity student = service.createStudent(getStudentCreate()).getLeft();
+    final StudentCacheService otherNode = new StudentCacheService(applicationProperties, new SimpleMeterRegistry());
+    assertThat(otherNode.findById(student.getStudentID(), repository::findById)).isPresent();
+
+    final StudentEvent deleted = new TransactionTemplate(transactionManager).execute(status -> {
+      try {
+        return service.deleteById(student.getStudentID());
+      } catch (final JsonProcessingException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    assertThat(deleted.getEventType()).isEqualTo(EventType.DELETE_STUDENT.toString());
+    // what the jet stream cache eviction consumer of the other node does with the broadcast event.
+    otherNode.evict(Publisher.toChoreographedEvent(deleted));
+
+    assertThat(otherNode.findById(student.getStudentID(), repository::findById)).isEmpty();
+    assertThat(otherNode.getIfPresentByPen("987654321")).isEmpty();
+  }
+
+  private StudentUpdate getStudentUpdate(final StudentEntity student) {
+    var studentUpdate = new StudentUpdate();
+    BeanUtils.copyProperties(StudentMapper.mapper.toStructure(student), studentUpdate);
+    studentUpdate.setLegalFirstName("updatedFirstName");
+    studentUpdate.setHistoryActivityCode("USEREDIT");
+    studentUpdate.setUpdateUser("Test Update");
+    return studentUpdate;
+  }
+
+  private StudentCreate getStudentCreate() {
+    StudentEntity student = new StudentEntity();
+    student.setPen("987654321");
+    student.setLegalFirstName("John");
+    student.setLegalLastName("Wayne");
+    student.setDob(LocalDate.parse("1907-05-26"));
+    student.setSexCode("M");
+    student.setStatusCode("A");
+    student.setDemogCode("A");
+    student.setEmail("theduke@someplace.com");
+    student.setEmailVerified("Y");
+    student.setCreateUser("Test");
+    student.setUpdateUser("Test");
+    var studentCreate = new StudentCreate();
+    BeanUtils.copyProperties(StudentMapper.mapper.toStructure(student), studentCreate);
+    studentCreate.setHistoryActivityCode("USERNEW");
+    return studentCreate;
+  }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
 import ca.bc.gov.educ.api.student.exception.EntityNotFoundException;
 import ca.bc.gov.educ.api.student.mappers.v1.StudentMapper;
 import ca.bc.gov.educ.api.student.model.v1.StudentEntity;
@@ -16,8 +17,11 @@ import ca.bc.gov.educ.api.student.repository.v1.StudentEventRepository;
 import ca.bc.gov.educ.api.student.repository.v1.StudentHistoryRepository;
 import ca.bc.gov.educ.api.student.repository.v1.StudentRepository;
 import ca.bc.gov.educ.api.student.service.v1.CodeTableService;
+import ca.bc.gov.educ.api.student.service.v1.SearchMetricsService;
+import ca.bc.gov.educ.api.student.service.v1.StudentCacheService;
 import ca.bc.gov.educ.api.student.service.v1.StudentHistoryService;
 import ca.bc.gov.educ.api.student.service.v1.StudentService;
+import ca.bc.gov.educ.api.student.util.SearchShape;
 import ca.bc.gov.educ.api.student.struct.v1.StudentCreate;
 import ca.bc.gov.educ.api.student.struct.v1.StudentUpdate;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -68,13 +72,19 @@ public class StudentServiceTest {
   @Autowired
   StudentHistoryRepository studentHistoryRepository;
   StudentHistoryService studentHistoryService;
+  @Autowired
+  ExecutorFactory executorFactory;
+  @Autowired
+  StudentCacheService studentCacheService;
+  @Autowired
+  SearchMetricsService searchMetricsService;
   @Mock
   CodeTableService codeTableService;
 
   @Before
   public void before() {
-    studentHistoryService = new StudentHistoryService(studentHistoryRepository, codeTableService);
-    service = new StudentService(studentEventRepository, repository, codeTableService, studentHistoryService);
+    studentHistoryService = new StudentHistoryService(studentHistoryRepository, codeTableService, executorFactory, searchMetricsService);
+    service = new StudentService(studentEventRepository, repository, codeTableService, studentHistoryService, executorFactory, studentCacheService, searchMetricsService);
   }
 
   @Test
@@ -179,7 +189,7 @@ public class StudentServiceTest {
 
   @Test
   public void testFindAllStudent_WhenPayloadIsValid_ShouldReturnAllStudentsObject() throws ExecutionException, InterruptedException {
-    assertNotNull(service.findAll(null, 0, 5, new ArrayList<>()).get());
+    assertNotNull(service.findAll(null, SearchShape.NONE, 0, 5, new ArrayList<>()).get());
   }
 
   private StudentEntity getStudentEntity() {
@@ -0,0 +1,39 @@
+package ca.bc.gov.educ.api.student.service.v1;
+
+import ca.bc.gov.educ.api.student.model.v1.SexCodeEntity;
+import ca.bc.gov.educ.api.student.repository.v1.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CodeTableServiceTest {
+  private final SexCodeTableRepository sexCodeTableRepository = mock(SexCodeTableRepository.class);
+  private CodeTableService codeTableService;
+
+  @Before
+  public void before() {
+    this.codeTableService = new CodeTableService(mock(GenderCodeTableRepository.class), this.sexCodeTableRepository, mock(DemogCodeTableRepository.class),
+        mock(StatusCodeTableRepository.class), mock(GradeCodeTableRepository.class), mock(StudentHistoryActivityCodeTableRepository.class), mock(DocumentTypeCodeRepository.class));
+  }
+
+  @Test
+  public void testFindSexCode_givenRefresh_shouldServeReloadedCodesFromMemory() {
+    when(this.sexCodeTableRepository.findAll()).thenReturn(List.of(SexCodeEntity.builder().sexCode("M").build()));
+    assertThat(this.codeTableService.findSexCode("M")).isPresent();
+    assertThat(this.codeTableService.findSexCode("F")).isEmpty();
+    assertThat(this.codeTableService.getSexCodesList()).hasSize(1);
+
+    when(this.sexCodeTableRepository.findAll()).thenReturn(List.of(SexCodeEntity.builder().sexCode("M").build(), SexCodeEntity.builder().sexCode("F").build()));
+    assertThat(this.codeTableService.findSexCode("F")).isEmpty();
+    this.codeTableService.refresh();
+    assertThat(this.codeTableService.findSexCode("F")).isPresent();
+    verify(this.sexCodeTableRepository, times(2)).findAll();
+  }
+}
@@ -0,0 +1,77 @@
+package ca.bc.gov.educ.api.student.service.v1;
+
+import ca.bc.gov.educ.api.student.constant.EventType;
+import ca.bc.gov.educ.api.student.messaging.EventMetrics;
+import ca.bc.gov.educ.api.student.messaging.MessagePublisher;
+import ca.bc.gov.educ.api.student.messaging.jetstream.Publisher;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import ca.bc.gov.educ.api.student.struct.v1.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.nats.client.Message;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventHandlerDelegatorServiceTest {
+  private final MessagePublisher messagePublisher = mock(MessagePublisher.class);
+  private final EventHandlerService eventHandlerService = mock(EventHandlerService.class);
+  private final Publisher publisher = mock(Publisher.class);
+  private SagaReplayCacheService sagaReplayCacheService;
+  private EventHandlerDelegatorService eventHandlerDelegatorService;
+
+  @Before
+  public void before() {
+    final ApplicationProperties applicationProperties = mock(ApplicationProperties.class);
+    when(applicationProperties.getSagaReplayCacheMaxSize()).thenReturn(100L);
+    when(applicationProperties.getSagaReplayCacheTtlMinutes()).thenReturn(5L);
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    this.sagaReplayCacheService = new SagaReplayCacheService(applicationProperties, meterRegistry);
+    this.eventHandlerDelegatorService = new EventHandlerDelegatorService(this.messagePublisher, this.eventHandlerService, this.publisher, new EventMetrics(meterRegistry), this.sagaReplayCacheService);
+  }
+
+  @Test
+  public void testHandleEvent_givenCreateStudentInReplayCache_shouldReplyWithoutCallingTheTransactionalHandler() throws Exception {
+    final Event event = Event.builder().eventType(EventType.CREATE_STUDENT).sagaId(UUID.randomUUID()).replyTo("saga-reply").build();
+    final byte[] response = "{\"eventOutcome\":\"STUDENT_CREATED\"}".getBytes(StandardCharsets.UTF_8);
+    this.sagaReplayCacheService.putResponseAfterCommit(event.getSagaId(), event.getEventType(), response);
+
+    this.eventHandlerDelegatorService.handleEvent(event, mock(Message.class));
+
+    verify(this.messagePublisher, times(1)).dispatchMessage("saga-reply", response);
+    verify(this.eventHandlerService, never()).handleCreateStudentEvent(any());
+  }
+
+  @Test
+  public void testHandleEvent_givenCreateStudentNotInReplayCache_shouldCallTheTransactionalHandler() throws Exception {
+    final Event event = Event.builder().eventType(EventType.CREATE_STUDENT).sagaId(UUID.randomUUID()).replyTo("saga-reply").build();
+    final byte[] response = "{\"eventOutcome\":\"STUDENT_CREATED\"}".getBytes(StandardCharsets.UTF_8);
+    when(this.eventHandlerService.handleCreateStudentEvent(event)).thenReturn(Pair.of(response, null));
+
+    this.eventHandlerDelegatorService.handleEvent(event, mock(Message.class));
+
+    verify(this.eventHandlerService, times(1)).handleCreateStudentEvent(event);
+    verify(this.messagePublisher, times(1)).dispatchMessage("saga-reply", response);
+  }
+
+  @Test
+  public void testHandleEvent_givenCreateStudentHistoryInReplayCache_shouldReplyWithoutCallingTheTransactionalHandler() throws Exception {
+    final Event event = Event.builder().eventType(EventType.CREATE_STUDENT_HISTORY).sagaId(UUID.randomUUID()).replyTo("saga-reply").build();
+    final byte[] response = "{\"eventOutcome\":\"STUDENT_HISTORY_CREATED\"}".getBytes(StandardCharsets.UTF_8);
+    this.sagaReplayCacheService.putResponseAfterCommit(event.getSagaId(), event.getEventType(), response);
+
+    this.eventHandlerDelegatorService.handleEvent(event, mock(Message.class));
+
+    verify(this.messagePublisher, times(1)).dispatchMessage("saga-reply", response);
+    verify(this.eventHandlerService, never()).handleCreateStudentHistoryEvent(any());
+  }
+}
@@ -0,0 +1,50 @@
+package ca.bc.gov.educ.api.student.service.v1;
+
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SearchMetricsServiceTest {
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private SearchMetricsService searchMetricsService;
+
+  @Before
+  public void before() {
+    final ApplicationProperties applicationProperties = mock(ApplicationProperties.class);
+    when(applicationProperties.getSearchSlowThresholdMillis()).thenReturn(2000L);
+    when(applicationProperties.getSearchMetricsMaxShapes()).thenReturn(2);
+    this.searchMetricsService = new SearchMetricsService(this.meterRegistry, applicationProperties);
+  }
+
+  @Test
+  public void testRecord_givenFoundAndFailedSearches_shouldTagTheOutcome() {
+    final long startedAt = System.nanoTime();
+    this.searchMetricsService.record(SearchMetricsService.STUDENTS, "(pen eq)", 0, 10, startedAt, startedAt, Page.empty());
+    this.searchMetricsService.recordFailure(SearchMetricsService.STUDENTS, "(pen eq)", startedAt, new IllegalStateException("query timeout"));
+
+    assertThat(this.meterRegistry.get("student.search").tag("shape", "(pen eq)").tag("outcome", "success").timer().count()).isEqualTo(1);
+    assertThat(this.meterRegistry.get("student.search").tag("shape", "(pen eq)").tag("outcome", "failure").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void testRecord_givenMoreShapesThanTheMax_shouldShareTheOtherTimerWithFixedBuckets() {
+    final long startedAt = System.nanoTime();
+    for (final String shape : new String[]{"(pen eq)", "(legalLastName eq)", "(dob eq)", "(mincode eq)"}) {
+      this.searchMetricsService.record(SearchMetricsService.STUDENTS, shape, 0, 10, startedAt, startedAt, Page.empty());
+    }
+
+    final Timer other = this.meterRegistry.get("student.search").tag("shape", SearchMetricsService.OTHER_SHAPES).timer();
+    assertThat(other.count()).isEqualTo(2);
+    assertThat(other.takeSnapshot().histogramCounts()).hasSize(9);
+    assertThat(other.takeSnapshot().histogramCounts()[0].bucket(TimeUnit.MILLISECONDS)).isEqualTo(50);
+  }
+}
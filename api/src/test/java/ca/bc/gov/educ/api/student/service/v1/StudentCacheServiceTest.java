@@ -0,0 +1,82 @@
+package ca.bc.gov.educ.api.student.service.v1;
+
+import ca.bc.gov.educ.api.student.model.v1.StudentEntity;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import ca.bc.gov.educ.api.student.struct.v1.ChoreographedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StudentCacheServiceTest {
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private StudentCacheService studentCacheService;
+  private StudentEntity student;
+
+  @Before
+  public void before() {
+    final ApplicationProperties applicationProperties = mock(ApplicationProperties.class);
+    when(applicationProperties.getStudentCacheMaxSize()).thenReturn(100L);
+    when(applicationProperties.getStudentCacheTtlSeconds()).thenReturn(300L);
+    this.studentCacheService = new StudentCacheService(applicationProperties, this.meterRegistry);
+    this.student = new StudentEntity();
+    this.student.setStudentID(UUID.randomUUID());
+    this.student.setPen("123456789");
+  }
+
+  @Test
+  public void testFindByPen_givenStudentLoadedById_shouldAnswerFromCache() {
+    final AtomicInteger loads = new AtomicInteger();
+    assertThat(this.studentCacheService.findById(this.student.getStudentID(), id -> {
+      loads.incrementAndGet();
+      return Optional.of(this.student);
+    })).contains(this.student);
+    assertThat(this.studentCacheService.findByPen("123456789", pen -> {
+      loads.incrementAndGet();
+      return Optional.empty();
+    })).contains(this.student);
+    assertThat(loads.get()).isEqualTo(1);
+    assertThat(this.meterRegistry.get("student.entity.cache.hit.ratio").gauge().value()).isPositive();
+  }
+
+  @Test
+  public void testEvict_givenChoreographedUpdateFromAnotherNode_shouldReloadTheStudent() {
+    this.studentCacheService.put(this.student, this.studentCacheService.getGeneration());
+    final ChoreographedEvent event = new ChoreographedEvent();
+    event.setEventPayload("{\"studentID\":\"" + this.student.getStudentID() + "\",\"pen\":\"123456789\"}");
+    this.studentCacheService.evict(event);
+
+    final StudentEntity updated = new StudentEntity();
+    updated.setStudentID(this.student.getStudentID());
+    updated.setPen("123456789");
+    assertThat(this.studentCacheService.findById(this.student.getStudentID(), id -> Optional.of(updated))).contains(updated);
+    assertThat(this.studentCacheService.findByPen("123456789", pen -> Optional.empty())).contains(updated);
+  }
+
+  @Test
+  public void testFindById_givenCallerChangesTheStudent_shouldKeepTheCachedStudent() {
+    this.studentCacheService.findById(this.student.getStudentID(), id -> Optional.of(this.student));
+    this.student.setPen("987654321");
+    this.studentCacheService.findById(this.student.getStudentID(), id -> Optional.empty()).orElseThrow().setPen("987654321");
+
+    assertThat(this.studentCacheService.getIfPresent(this.student.getStudentID())).get().extracting(StudentEntity::getPen).isEqualTo("123456789");
+    assertThat(this.studentCacheService.getIfPresentByPen("123456789")).isPresent();
+  }
+
+  @Test
+  public void testPut_givenEvictionWhileLoading_shouldNotCacheTheStaleStudent() {
+    final long generation = this.studentCacheService.getGeneration();
+    this.studentCacheService.evict(this.student.getStudentID(), this.student.getPen());
+    this.studentCacheService.put(this.student, generation);
+
+    assertThat(this.studentCacheService.getIfPresent(this.student.getStudentID())).isEmpty();
+    assertThat(this.studentCacheService.getIfPresentByPen("123456789")).isEmpty();
+  }
+}
@@ -0,0 +1,90 @@
+package ca.bc.gov.educ.api.student.service.v1;
+
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
+import ca.bc.gov.educ.api.student.config.ShutdownDeadline;
+import ca.bc.gov.educ.api.student.exception.StudentRuntimeException;
+import ca.bc.gov.educ.api.student.model.v1.StudentEntity;
+import ca.bc.gov.educ.api.student.properties.ApplicationProperties;
+import ca.bc.gov.educ.api.student.repository.v1.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StudentPenBatchLookupServiceTest {
+  private final StudentRepository studentRepository = mock(StudentRepository.class);
+  private StudentPenBatchLookupService studentPenBatchLookupService;
+
+  @Before
+  public void before() {
+    final ApplicationProperties applicationProperties = mock(ApplicationProperties.class);
+    when(applicationProperties.getPenBatchLookupEnabled()).thenReturn(true);
+    when(applicationProperties.getPenBatchLookupWindowMillis()).thenReturn(200L);
+    when(applicationProperties.getPenBatchLookupMaxSize()).thenReturn(3);
+    when(applicationProperties.getPenBatchLookupTimeoutMillis()).thenReturn(1000L);
+    when(applicationProperties.getHikariMaximumPoolSize()).thenReturn(10);
+    when(applicationProperties.getShutdownTimeoutSeconds()).thenReturn(1);
+    this.studentPenBatchLookupService = new StudentPenBatchLookupService(this.studentRepository, applicationProperties, new ExecutorFactory(applicationProperties, new SimpleMeterRegistry(), new ShutdownDeadline(applicationProperties)));
+  }
+
+  @After
+  public void after() {
+    this.studentPenBatchLookupService.close();
+  }
+
+  @Test
+  public void testFindStudentEntityByPen_givenLookupsWithinWindow_shouldResolveWithOneQuery() throws Exception {
+    final StudentEntity student = new StudentEntity();
+    student.setPen("123456789");
+    when(this.studentRepository.findStudentEntityByPenIn(anyList())).thenReturn(List.of(student));
+
+    final CompletableFuture<Optional<StudentEntity>> first = CompletableFuture.supplyAsync(() -> this.studentPenBatchLookupService.findStudentEntityByPen("123456789"));
+    final CompletableFuture<Optional<StudentEntity>> second = CompletableFuture.supplyAsync(() -> this.studentPenBatchLookupService.findStudentEntityByPen("123456789"));
+    final CompletableFuture<Optional<StudentEntity>> third = CompletableFuture.supplyAsync(() -> this.studentPenBatchLookupService.findStudentEntityByPen("987654321"));
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).contains(student);
+    assertThat(second.get(5, TimeUnit.SECONDS)).contains(student);
+    assertThat(third.get(5, TimeUnit.SECONDS)).isEmpty();
+    verify(this.studentRepository, times(1)).findStudentEntityByPenIn(anyList());
+  }
+
+  @Test
+  public void testFindStudentEntityByPen_givenBatchQueryTooSlow_shouldTimeOut() {
+    final CountDownLatch release = new CountDownLatch(1);
+    when(this.studentRepository.findStudentEntityByPenIn(anyList())).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return List.of();
+    });
+    try {
+      assertThatThrownBy(() -> this.studentPenBatchLookupService.findStudentEntityByPen("123456789"))
+          .isInstanceOf(StudentRuntimeException.class).hasMessageContaining("timed out");
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void testFindStudentEntityByPen_givenClosedWhileQueued_shouldFail() {
+    final CompletableFuture<Optional<StudentEntity>> queued = CompletableFuture.supplyAsync(() -> this.studentPenBatchLookupService.findStudentEntityByPen("123456789"));
+    this.studentPenBatchLookupService.close();
+
+    assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StudentRuntimeException.class);
+    assertThatThrownBy(() -> this.studentPenBatchLookupService.findStudentEntityByPen("987654321")).isInstanceOf(StudentRuntimeException.class);
+    verify(this.studentRepository, never()).findStudentEntityByPenIn(anyList());
+  }
+}
@@ -0,0 +1,31 @@
+package ca.bc.gov.educ.api.student.util;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PayloadCompressionUtilTest {
+
+  @Test
+  public void testCompress_givenLargePayload_shouldRoundTrip() {
+    final byte[] payload = "{\"legalFirstName\":\"JACK\",\"legalLastName\":\"WILSON\"},".repeat(100).getBytes(StandardCharsets.UTF_8);
+    final byte[] compressed = PayloadCompressionUtil.compress(payload);
+    assertThat(PayloadCompressionUtil.isCompressed(compressed)).isTrue();
+    assertThat(compressed.length).isLessThan(payload.length);
+    assertThat(PayloadCompressionUtil.decompress(compressed)).isEqualTo(payload);
+  }
+
+  @Test
+  public void testCompress_givenSmallPayload_shouldStoreAsIs() {
+    final byte[] payload = "123456789".getBytes(StandardCharsets.UTF_8);
+    assertThat(PayloadCompressionUtil.compress(payload)).isSameAs(payload);
+  }
+
+  @Test
+  public void testDecompress_givenUncompressedPayload_shouldReturnAsIs() {
+    final byte[] payload = "{\"createUser\":\"test\"}".getBytes(StandardCharsets.UTF_8);
+    assertThat(PayloadCompressionUtil.decompress(payload)).isSameAs(payload);
+  }
+}
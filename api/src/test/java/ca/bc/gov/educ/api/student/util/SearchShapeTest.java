@@ -0,0 +1,41 @@
+package ca.bc.gov.educ.api.student.util;
+
+import ca.bc.gov.educ.api.student.filter.FilterOperation;
+import ca.bc.gov.educ.api.student.struct.v1.Condition;
+import ca.bc.gov.educ.api.student.struct.v1.Search;
+import ca.bc.gov.educ.api.student.struct.v1.SearchCriteria;
+import ca.bc.gov.educ.api.student.struct.v1.ValueType;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchShapeTest {
+
+  @Test
+  public void testOf_givenNoSearches_shouldReturnNone() {
+    assertThat(SearchShape.of(null)).isEqualTo(SearchShape.NONE);
+    assertThat(SearchShape.of(List.of())).isEqualTo(SearchShape.NONE);
+  }
+
+  @Test
+  public void testOf_givenSearches_shouldReturnKeysOperationsAndConditionsWithoutValues() {
+    final SearchCriteria lastName = SearchCriteria.builder().key("legalLastName").operation(FilterOperation.STARTS_WITH).value("SMI").valueType(ValueType.STRING).build();
+    final SearchCriteria dob = SearchCriteria.builder().condition(Condition.AND).key("dob").operation(FilterOperation.BETWEEN).value("2000-01-01,2001-01-01").valueType(ValueType.DATE).build();
+    final SearchCriteria pen = SearchCriteria.builder().key("pen").operation(FilterOperation.EQUAL).value("123456789").valueType(ValueType.STRING).build();
+    final List<Search> searches = List.of(Search.builder().searchCriteriaList(List.of(lastName, dob)).build(),
+        Search.builder().condition(Condition.OR).searchCriteriaList(List.of(pen)).build());
+
+    assertThat(SearchShape.of(searches)).isEqualTo("(legalLastName starts_with and dob btn) or (pen eq)");
+  }
+
+  @Test
+  public void testOf_givenSameShapeDifferentValues_shouldReturnSameShape() {
+    final SearchCriteria first = SearchCriteria.builder().key("pen").operation(FilterOperation.EQUAL).value("123456789").valueType(ValueType.STRING).build();
+    final SearchCriteria second = SearchCriteria.builder().key("pen").operation(FilterOperation.EQUAL).value("987654321").valueType(ValueType.STRING).build();
+
+    assertThat(SearchShape.of(List.of(Search.builder().searchCriteriaList(List.of(first)).build())))
+        .isEqualTo(SearchShape.of(List.of(Search.builder().searchCriteriaList(List.of(second)).build())));
+  }
+}
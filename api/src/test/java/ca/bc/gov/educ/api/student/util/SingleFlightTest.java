@@ -0,0 +1,48 @@
+package ca.bc.gov.educ.api.student.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+  private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+  @Test
+  public void testLoad_givenConcurrentCallsForSameKey_shouldLoadOnce() throws Exception {
+    final AtomicInteger loads = new AtomicInteger();
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> this.singleFlight.load("123456789", () -> {
+      loads.incrementAndGet();
+      loading.countDown();
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (this.singleFlight.getWaitingCount("123456789") == 0 && System.nanoTime() < deadline) {
+        Thread.onSpinWait();
+      }
+      return "student";
+    }));
+    assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+    final CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> this.singleFlight.load("123456789", () -> {
+      loads.incrementAndGet();
+      return "other";
+    }));
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("student");
+    assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("student");
+    assertThat(loads.get()).isEqualTo(1);
+    assertThat(this.singleFlight.load("123456789", () -> "reloaded")).isEqualTo("reloaded");
+  }
+
+  @Test
+  public void testLoad_givenLoaderFails_shouldRethrowAndNotKeepTheKey() {
+    assertThatThrownBy(() -> this.singleFlight.load("123456789", () -> {
+      throw new IllegalStateException("db down");
+    })).isInstanceOf(IllegalStateException.class);
+    assertThat(this.singleFlight.load("123456789", () -> "student")).isEqualTo("student");
+  }
+}
@@ -1,5 +1,6 @@
 package ca.bc.gov.educ.api.student.validator;
 
+import ca.bc.gov.educ.api.student.config.ExecutorFactory;
 import ca.bc.gov.educ.api.student.model.v1.DocumentTypeCodeEntity;
 import ca.bc.gov.educ.api.student.model.v1.GenderCodeEntity;
 import ca.bc.gov.educ.api.student.model.v1.SexCodeEntity;
@@ -7,6 +8,8 @@ import ca.bc.gov.educ.api.student.model.v1.StudentEntity;
 import ca.bc.gov.educ.api.student.repository.v1.StudentEventRepository;
 import ca.bc.gov.educ.api.student.repository.v1.StudentRepository;
 import ca.bc.gov.educ.api.student.service.v1.CodeTableService;
+import ca.bc.gov.educ.api.student.service.v1.SearchMetricsService;
+import ca.bc.gov.educ.api.student.service.v1.StudentCacheService;
 import ca.bc.gov.educ.api.student.service.v1.StudentHistoryService;
 import ca.bc.gov.educ.api.student.service.v1.StudentService;
 import ca.bc.gov.educ.api.student.struct.v1.Student;
@@ -43,10 +46,16 @@ public class StudentPayloadValidatorTest {
   CodeTableService codeTableService;
   @Mock
   StudentHistoryService studentHistoryService;
+  @Mock
+  ExecutorFactory executorFactory;
+  @Mock
+  StudentCacheService studentCacheService;
+  @Mock
+  SearchMetricsService searchMetricsService;
 
   @Before
   public void before() {
-    studentService = new StudentService(studentEventRepository, repository, codeTableService, studentHistoryService);
+    studentService = new StudentService(studentEventRepository, repository, codeTableService, studentHistoryService, executorFactory, studentCacheService, searchMetricsService);
     studentPayloadValidator = new StudentPayloadValidator(studentService);
   }
 